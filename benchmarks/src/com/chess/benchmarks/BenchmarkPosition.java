@@ -0,0 +1,27 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.perft.PerftPosition;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * Position suite shared by the benchmarks: the perft positions, so that
+ * movegen, evaluation and search numbers are measured on the same boards.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkPosition {
+
+    @Param({"STARTING_POSITION", "KIWIPETE", "POSITION_3", "POSITION_4", "POSITION_5", "POSITION_6"})
+    public String position;
+
+    public Board board;
+
+    @Setup
+    public void setUp() {
+        this.board = PerftPosition.valueOf(this.position).createBoard();
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.pieces.Piece;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    // build the position from scratch, including both players' move lists
+    @Benchmark
+    public Board buildBoard(final BenchmarkPosition position) {
+        final Board board = position.board;
+        final Board.Builder builder = new Board.Builder();
+        for (final Piece piece : board.getAllPieces()) {
+            builder.setPiece(piece);
+        }
+        builder.setEnPassantPawn(board.getEnPassantPawn());
+        builder.setMoveMaker(board.currentPlayer().getAlliance());
+        return builder.build();
+    }
+
+    // try every move of the side to move, as the search does once per node
+    @Benchmark
+    public void makeMove(final BenchmarkPosition position,
+                         final Blackhole blackhole) {
+        final Board board = position.board;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            blackhole.consume(board.currentPlayer().makeMove(move));
+        }
+    }
+
+}
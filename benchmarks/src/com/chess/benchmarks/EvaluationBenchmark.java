@@ -0,0 +1,20 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.classic.player.ai.StandardBoardEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    @Benchmark
+    public int evaluate(final BenchmarkPosition position) {
+        return StandardBoardEvaluator.get().evaluate(position.board, 0);
+    }
+
+}
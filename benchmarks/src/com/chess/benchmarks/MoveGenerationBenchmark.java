@@ -0,0 +1,44 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.pieces.Piece;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoveGenerationBenchmark {
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    public String pieceType;
+
+    private List<Piece> pieces;
+
+    @Setup
+    public void setUp(final BenchmarkPosition position) {
+        final PieceType type = PieceType.valueOf(this.pieceType);
+        this.pieces = position.board.currentPlayer().getActivePieces().stream()
+                .filter(piece -> piece.getPieceType() == type)
+                .collect(Collectors.toList());
+    }
+
+    // pseudo legal moves of every piece of this type belonging to the side to move
+    @Benchmark
+    public void calculateLegalMoves(final BenchmarkPosition position,
+                                    final Blackhole blackhole) {
+        final Board board = position.board;
+        for (final Piece piece : this.pieces) {
+            blackhole.consume(piece.calculateLegalMoves(board));
+        }
+    }
+
+}
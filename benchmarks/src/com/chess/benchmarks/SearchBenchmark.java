@@ -0,0 +1,51 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.player.ai.AlphaBetaWithMoveOrdering;
+import com.chess.engine.classic.player.ai.IterativeDeepening;
+import com.chess.engine.classic.player.ai.MiniMax;
+import com.chess.engine.classic.player.ai.MoveStrategy;
+import com.chess.engine.classic.player.ai.StockAlphaBeta;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * One fixed depth search per invocation. A fresh strategy is built every time
+ * since the strategies keep counters and tables between calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({"StockAlphaBeta", "AlphaBetaWithMoveOrdering", "IterativeDeepening", "MiniMax"})
+    public String strategy;
+
+    @Param({"3"})
+    public int searchDepth;
+
+    @Benchmark
+    public Move search(final BenchmarkPosition position) {
+        return createStrategy().execute(position.board);
+    }
+
+    private MoveStrategy createStrategy() {
+        switch (this.strategy) {
+            case "StockAlphaBeta":
+                return new StockAlphaBeta(this.searchDepth);
+            case "AlphaBetaWithMoveOrdering":
+                return new AlphaBetaWithMoveOrdering(this.searchDepth, 0);
+            case "IterativeDeepening":
+                return new IterativeDeepening(this.searchDepth);
+            case "MiniMax":
+                return new MiniMax(this.searchDepth);
+            default:
+                throw new IllegalArgumentException("unknown strategy: " + this.strategy);
+        }
+    }
+
+}
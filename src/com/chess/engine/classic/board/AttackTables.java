@@ -0,0 +1,76 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.Alliance;
+
+public enum AttackTables {
+
+    INSTANCE;
+
+    private static final int[][] KNIGHT_OFFSETS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    private static final int[][] KING_OFFSETS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+    private static final int[][] WHITE_PAWN_OFFSETS = {{-1, -1}, {-1, 1}};
+    private static final int[][] BLACK_PAWN_OFFSETS = {{1, -1}, {1, 1}};
+
+    private static final long[] KNIGHT_ATTACKS = new long[BoardUtils.NUM_TILES];
+    private static final long[] KING_ATTACKS = new long[BoardUtils.NUM_TILES];
+    private static final long[][] PAWN_ATTACKS = new long[2][BoardUtils.NUM_TILES];
+    private static final int[][][] PAWN_ATTACK_DESTINATIONS = new int[2][BoardUtils.NUM_TILES][];
+
+    static {
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            KNIGHT_ATTACKS[square] = leaperAttacks(square, KNIGHT_OFFSETS);
+            KING_ATTACKS[square] = leaperAttacks(square, KING_OFFSETS);
+            PAWN_ATTACKS[Alliance.WHITE.ordinal()][square] = leaperAttacks(square, WHITE_PAWN_OFFSETS);
+            PAWN_ATTACKS[Alliance.BLACK.ordinal()][square] = leaperAttacks(square, BLACK_PAWN_OFFSETS);
+            PAWN_ATTACK_DESTINATIONS[Alliance.WHITE.ordinal()][square] = toDestinations(PAWN_ATTACKS[Alliance.WHITE.ordinal()][square]);
+            PAWN_ATTACK_DESTINATIONS[Alliance.BLACK.ordinal()][square] = toDestinations(PAWN_ATTACKS[Alliance.BLACK.ordinal()][square]);
+        }
+    }
+
+    public static long knightAttacks(final int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(final int square) {
+        return KING_ATTACKS[square];
+    }
+
+    // tiles a pawn of this alliance standing on the square captures on
+    public static long pawnAttacks(final Alliance alliance,
+                                   final int square) {
+        return PAWN_ATTACKS[alliance.ordinal()][square];
+    }
+
+    public static int[] pawnAttackDestinations(final Alliance alliance,
+                                               final int square) {
+        return PAWN_ATTACK_DESTINATIONS[alliance.ordinal()][square];
+    }
+
+    // all (row, column) jumps that stay on the board
+    private static long leaperAttacks(final int square,
+                                      final int[][] offsets) {
+        final int row = square / BoardUtils.NUM_TILES_PER_ROW;
+        final int column = square % BoardUtils.NUM_TILES_PER_ROW;
+        long attacks = BitBoards.EMPTY;
+        for (final int[] offset : offsets) {
+            final int targetRow = row + offset[0];
+            final int targetColumn = column + offset[1];
+            if (targetRow >= 0 && targetRow < BoardUtils.NUM_TILES_PER_ROW &&
+                targetColumn >= 0 && targetColumn < BoardUtils.NUM_TILES_PER_ROW) {
+                attacks |= BitBoards.squareMask(targetRow * BoardUtils.NUM_TILES_PER_ROW + targetColumn);
+            }
+        }
+        return attacks;
+    }
+
+    private static int[] toDestinations(final long attacks) {
+        final int[] destinations = new int[BitBoards.count(attacks)];
+        long remaining = attacks;
+        for (int i = 0; i < destinations.length; i++) {
+            destinations[i] = BitBoards.firstSquare(remaining);
+            remaining = BitBoards.popFirstSquare(remaining);
+        }
+        return destinations;
+    }
+
+}
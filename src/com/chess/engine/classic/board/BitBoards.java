@@ -0,0 +1,74 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+
+public enum BitBoards {
+
+    INSTANCE;
+
+    public static final int NUM_PIECE_TYPES = PieceType.values().length;
+    public static final int NUM_PIECE_BIT_BOARDS = 2 * NUM_PIECE_TYPES;
+    public static final long EMPTY = 0L;
+
+    private static final long FIRST_COLUMN = 0x0101010101010101L;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    // one bit per tile, bit i is tile i (a8 = 0 ... h1 = 63)
+    public static long squareMask(final int coordinate) {
+        return 1L << coordinate;
+    }
+
+    // tiles of one column, 0 = a file ... 7 = h file
+    public static long columnMask(final int column) {
+        return FIRST_COLUMN << column;
+    }
+
+    // index of the bitboard that holds this kind of piece
+    public static int pieceIndex(final Alliance alliance,
+                                 final PieceType pieceType) {
+        return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    // kind of piece held by the bitboard of this index
+    public static PieceType pieceType(final int pieceIndex) {
+        return PIECE_TYPES[pieceIndex % NUM_PIECE_TYPES];
+    }
+
+    // side owning the bitboard of this index
+    public static Alliance pieceAlliance(final int pieceIndex) {
+        return pieceIndex < NUM_PIECE_TYPES ? Alliance.WHITE : Alliance.BLACK;
+    }
+
+    // tile of the lowest set bit
+    public static int firstSquare(final long bitBoard) {
+        return Long.numberOfTrailingZeros(bitBoard);
+    }
+
+    // clear the lowest set bit
+    public static long popFirstSquare(final long bitBoard) {
+        return bitBoard & (bitBoard - 1);
+    }
+
+    public static int count(final long bitBoard) {
+        return Long.bitCount(bitBoard);
+    }
+
+    public static boolean isSet(final long bitBoard,
+                                final int coordinate) {
+        return (bitBoard & squareMask(coordinate)) != EMPTY;
+    }
+
+    // print bitboard as 8x8 grid (for debugging)
+    public static String toString(final long bitBoard) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            builder.append(isSet(bitBoard, i) ? " 1" : " .");
+            if ((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
+                builder.append("\n");
+            }
+        }
+        return builder.toString();
+    }
+
+}
@@ -1,44 +1,63 @@
 package com.chess.engine.classic.board;
 
 import com.chess.engine.classic.Alliance;
-import com.chess.engine.classic.board.Move.MoveFactory;
 import com.chess.engine.classic.pieces.*;
+import com.chess.engine.classic.pieces.Piece.PieceType;
 import com.chess.engine.classic.player.BlackPlayer;
 import com.chess.engine.classic.player.Player;
 import com.chess.engine.classic.player.WhitePlayer;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 
 import java.util.Collection;
-import java.util.stream.Collectors;
 
-public final class Board {
+public final class Board implements Position {
 
-    private final Int2ObjectMap<Piece> boardConfig;
+    public static final int NO_SQUARE = -1;
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+    public static final int FIFTY_MOVE_RULE_PLIES = 100;
+
+    private static final int[] CASTLING_RIGHTS_MASK = initCastlingRightsMask();
+
+    private final Piece[] boardConfig;
+    private final long[] pieceBitBoards;
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
+    private final int[] material;
+    private final int[] pieceSquareScores;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
-    private final WhitePlayer whitePlayer;
-    private final BlackPlayer blackPlayer;
-    private final Player currentPlayer;
+    private final Alliance nextMoveMaker;
     private final Pawn enPassantPawn;
-    private final Move transitionMove;
+    private final int castlingRights;
+    private final int halfmoveClock;
+    private final long zobristKey;
+    private final int transitionMove;
+    private volatile long[] attackMaps;
+    private volatile WhitePlayer whitePlayer;
+    private volatile BlackPlayer blackPlayer;
 
     private static final Board STANDARD_BOARD = createStandardBoardImpl();
 
     private Board(final Builder builder) {
-        this.boardConfig = Int2ObjectMaps.unmodifiable(builder.boardConfig);
-        this.whitePieces = calculateActivePieces(builder, Alliance.WHITE);
-        this.blackPieces = calculateActivePieces(builder, Alliance.BLACK);
+        this.boardConfig = builder.boardConfig.clone();
+        this.pieceBitBoards = builder.pieceBitBoards.clone();
+        this.whiteOccupancy = builder.whiteOccupancy;
+        this.blackOccupancy = builder.blackOccupancy;
+        this.material = builder.material.clone();
+        this.pieceSquareScores = builder.pieceSquareScores.clone();
+        this.whitePieces = calculateActivePieces(builder, this.whiteOccupancy);
+        this.blackPieces = calculateActivePieces(builder, this.blackOccupancy);
         this.enPassantPawn = builder.enPassantPawn;
-        final Collection<Move> whiteStandardMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardMoves = calculateLegalMoves(this.blackPieces);
-        this.whitePlayer = new WhitePlayer(this, whiteStandardMoves, blackStandardMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardMoves, blackStandardMoves);
-        this.currentPlayer = builder.nextMoveMaker.choosePlayerByAlliance(this.whitePlayer, this.blackPlayer);
-        this.transitionMove = builder.transitionMove != null ? builder.transitionMove : MoveFactory.getNullMove();
+        this.castlingRights = calculateCastlingRights(Alliance.WHITE, 60, 63, 56, WHITE_KING_SIDE, WHITE_QUEEN_SIDE) |
+                              calculateCastlingRights(Alliance.BLACK, 4, 7, 0, BLACK_KING_SIDE, BLACK_QUEEN_SIDE);
+        this.halfmoveClock = builder.halfmoveClock;
+        this.zobristKey = builder.hasZobristKey ? builder.zobristKey : calculateZobristKey(builder.nextMoveMaker);
+        this.nextMoveMaker = builder.nextMoveMaker;
+        this.transitionMove = builder.transitionMove;
     }
 
     // generate board with first char of each piece
@@ -46,7 +65,7 @@ public final class Board {
     public String toString() {
         final StringBuilder builder = new StringBuilder();
         for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-            final String tileText = prettyPrint(this.boardConfig.get(i));
+            final String tileText = prettyPrint(this.boardConfig[i]);
             builder.append(String.format("%3s", tileText));
             if ((i + 1) % 8 == 0) {
                 builder.append("\n");
@@ -77,36 +96,197 @@ public final class Board {
     }
 
     public Iterable<Move> getAllLegalMoves() {
-        return Iterables.unmodifiableIterable(Iterables.concat(this.whitePlayer.getLegalMoves(),
-                this.blackPlayer.getLegalMoves()));
+        return Iterables.unmodifiableIterable(Iterables.concat(whitePlayer().getLegalMoves(),
+                blackPlayer().getLegalMoves()));
     }
 
+    // the players (and with them their moves) are only made when first asked for;
+    // most boards of a search are looked at from one side or not at all
     public WhitePlayer whitePlayer() {
-        return this.whitePlayer;
+        WhitePlayer whitePlayer = this.whitePlayer;
+        if (whitePlayer == null) {
+            synchronized (this) {
+                whitePlayer = this.whitePlayer;
+                if (whitePlayer == null) {
+                    whitePlayer = new WhitePlayer(this);
+                    this.whitePlayer = whitePlayer;
+                }
+            }
+        }
+        return whitePlayer;
     }
 
     public BlackPlayer blackPlayer() {
-        return this.blackPlayer;
+        BlackPlayer blackPlayer = this.blackPlayer;
+        if (blackPlayer == null) {
+            synchronized (this) {
+                blackPlayer = this.blackPlayer;
+                if (blackPlayer == null) {
+                    blackPlayer = new BlackPlayer(this);
+                    this.blackPlayer = blackPlayer;
+                }
+            }
+        }
+        return blackPlayer;
     }
 
     public Player currentPlayer() {
-        return this.currentPlayer;
+        return this.nextMoveMaker.isWhite() ? whitePlayer() : blackPlayer();
+    }
+
+    @Override
+    public Alliance getSideToMove() {
+        return this.nextMoveMaker;
+    }
+
+    // outcome for the side to move, memoized by its player; a mate on the hundredth ply still stands
+    public GameStatus getGameStatus() {
+        final GameStatus gameStatus = currentPlayer().getGameStatus();
+        return this.halfmoveClock >= FIFTY_MOVE_RULE_PLIES && !gameStatus.isGameOver() ?
+                GameStatus.FIFTY_MOVE_RULE : gameStatus;
     }
 
     // return piece like ( (king) k , (queen) q ,......)
     public Piece getPiece(final int coordinate) {
-        return this.boardConfig.get(coordinate);
+        return this.boardConfig[coordinate];
+    }
+
+    @Override
+    public int getPieceIndex(final int coordinate) {
+        final Piece piece = this.boardConfig[coordinate];
+        return piece == null ? NO_PIECE : BitBoards.pieceIndex(piece.getPieceAllegiance(), piece.getPieceType());
+    }
+
+    // check the occupancy bitboard instead of looking the piece up
+    public boolean isTileOccupied(final int coordinate) {
+        return (getOccupancy() & BitBoards.squareMask(coordinate)) != 0L;
+    }
+
+    // bitboard of one piece type for one side (bit i = tile i)
+    @Override
+    public long getPieceBitBoard(final Alliance alliance,
+                                 final PieceType pieceType) {
+        return this.pieceBitBoards[BitBoards.pieceIndex(alliance, pieceType)];
+    }
+
+    // tile of the alliance's king straight from its bitboard, or NO_SQUARE
+    public int getKingSquare(final Alliance alliance) {
+        final long king = getPieceBitBoard(alliance, PieceType.KING);
+        return king == 0L ? NO_SQUARE : BitBoards.firstSquare(king);
+    }
+
+    // bitboard of every tile occupied by this side
+    @Override
+    public long getOccupancy(final Alliance alliance) {
+        return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    // bitboard of every occupied tile
+    @Override
+    public long getOccupancy() {
+        return this.whiteOccupancy | this.blackOccupancy;
+    }
+
+    // sum of the piece values of the alliance, kept up to date by the builder
+    public int getMaterial(final Alliance alliance) {
+        return this.material[alliance.ordinal()];
+    }
+
+    // sum of the location bonuses of the alliance, kept up to date by the builder
+    public int getPieceSquareScore(final Alliance alliance) {
+        return this.pieceSquareScores[alliance.ordinal()];
+    }
+
+    // true if a piece of the alliance attacks the tile, looking outwards from the tile
+    public boolean isSquareAttacked(final int coordinate,
+                                    final Alliance byAlliance) {
+        return attackersOf(coordinate, byAlliance, getOccupancy()) != 0L;
+    }
+
+    // every tile the alliance attacks, worked out on first use
+    public long getAttackMap(final Alliance alliance) {
+        long[] attackMaps = this.attackMaps;
+        if (attackMaps == null) {
+            attackMaps = new long[] {calculateAttackMap(Alliance.WHITE), calculateAttackMap(Alliance.BLACK)};
+            this.attackMaps = attackMaps;
+        }
+        return attackMaps[alliance.ordinal()];
+    }
+
+    private long calculateAttackMap(final Alliance alliance) {
+        final long occupancy = getOccupancy();
+        long attackMap = 0L;
+        long pieces = getOccupancy(alliance);
+        while (pieces != 0L) {
+            final int coordinate = BitBoards.firstSquare(pieces);
+            switch (this.boardConfig[coordinate].getPieceType()) {
+                case PAWN:
+                    attackMap |= AttackTables.pawnAttacks(alliance, coordinate);
+                    break;
+                case KNIGHT:
+                    attackMap |= AttackTables.knightAttacks(coordinate);
+                    break;
+                case BISHOP:
+                    attackMap |= MagicBitBoards.bishopAttacks(coordinate, occupancy);
+                    break;
+                case ROOK:
+                    attackMap |= MagicBitBoards.rookAttacks(coordinate, occupancy);
+                    break;
+                case QUEEN:
+                    attackMap |= MagicBitBoards.queenAttacks(coordinate, occupancy);
+                    break;
+                default:
+                    attackMap |= AttackTables.kingAttacks(coordinate);
+            }
+            pieces = BitBoards.popFirstSquare(pieces);
+        }
+        return attackMap;
     }
 
     public Pawn getEnPassantPawn() {
         return this.enPassantPawn;
     }
 
-    // get new move
-    public Move getTransitionMove() {
+    // tile behind the pawn that just jumped, or NO_SQUARE
+    public int getEnPassantSquare() {
+        return this.enPassantPawn == null ? NO_SQUARE :
+                this.enPassantPawn.getPiecePosition() - (this.enPassantPawn.getPieceAllegiance().getDirection() * 8);
+    }
+
+    // castling rights bits (WHITE_KING_SIDE ...) still available to both sides
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    // plies since the last capture or pawn move
+    public int getHalfmoveClock() {
+        return this.halfmoveClock;
+    }
+
+    // zobrist key of pieces, side to move, castling rights and en passant tile
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    // castling rights that survive a move from or to the tile
+    static int castlingRightsMask(final int coordinate) {
+        return CASTLING_RIGHTS_MASK[coordinate];
+    }
+
+    // the packed move that made this board; the board it was played on is not kept
+    public int getTransitionMove() {
         return this.transitionMove;
     }
 
+    // the same pieces with the other side to move and no en passant tile, for null move pruning
+    public Board passTurn() {
+        final Builder builder = new Builder(this);
+        builder.setMoveMaker(this.nextMoveMaker.isWhite() ? Alliance.BLACK : Alliance.WHITE);
+        builder.setHalfmoveClock(this.halfmoveClock + 1);
+        builder.setZobristKey(this.zobristKey ^ Zobrist.blackToMoveKey() ^ Zobrist.enPassantKey(getEnPassantSquare()));
+        return builder.build();
+    }
+
     public static Board createStandardBoard() {
         return STANDARD_BOARD;
     }
@@ -115,75 +295,185 @@ public final class Board {
     private static Board createStandardBoardImpl() {
         final Builder builder = new Builder();
         // Black Layout
-        builder.setPiece(new Rook(Alliance.BLACK, 0));
-        builder.setPiece(new Knight(Alliance.BLACK, 1));
-        builder.setPiece(new Bishop(Alliance.BLACK, 2));
-        builder.setPiece(new Queen(Alliance.BLACK, 3));
-        builder.setPiece(new King(Alliance.BLACK, 4, true, true));
-        builder.setPiece(new Bishop(Alliance.BLACK, 5));
-        builder.setPiece(new Knight(Alliance.BLACK, 6));
-        builder.setPiece(new Rook(Alliance.BLACK, 7));
-        builder.setPiece(new Pawn(Alliance.BLACK, 8));
-        builder.setPiece(new Pawn(Alliance.BLACK, 9));
-        builder.setPiece(new Pawn(Alliance.BLACK, 10));
-        builder.setPiece(new Pawn(Alliance.BLACK, 11));
-        builder.setPiece(new Pawn(Alliance.BLACK, 12));
-        builder.setPiece(new Pawn(Alliance.BLACK, 13));
-        builder.setPiece(new Pawn(Alliance.BLACK, 14));
-        builder.setPiece(new Pawn(Alliance.BLACK, 15));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.ROOK, 0, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.KNIGHT, 1, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.BISHOP, 2, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.QUEEN, 3, true));
+        builder.setPiece(PieceUtils.INSTANCE.getKing(Alliance.BLACK, 4, true, false, true, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.BISHOP, 5, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.KNIGHT, 6, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.ROOK, 7, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.PAWN, 8, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.PAWN, 9, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.PAWN, 10, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.PAWN, 11, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.PAWN, 12, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.PAWN, 13, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.PAWN, 14, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.BLACK, PieceType.PAWN, 15, true));
         // White Layout
-        builder.setPiece(new Pawn(Alliance.WHITE, 48));
-        builder.setPiece(new Pawn(Alliance.WHITE, 49));
-        builder.setPiece(new Pawn(Alliance.WHITE, 50));
-        builder.setPiece(new Pawn(Alliance.WHITE, 51));
-        builder.setPiece(new Pawn(Alliance.WHITE, 52));
-        builder.setPiece(new Pawn(Alliance.WHITE, 53));
-        builder.setPiece(new Pawn(Alliance.WHITE, 54));
-        builder.setPiece(new Pawn(Alliance.WHITE, 55));
-        builder.setPiece(new Rook(Alliance.WHITE, 56));
-        builder.setPiece(new Knight(Alliance.WHITE, 57));
-        builder.setPiece(new Bishop(Alliance.WHITE, 58));
-        builder.setPiece(new Queen(Alliance.WHITE, 59));
-        builder.setPiece(new King(Alliance.WHITE, 60, true, true));
-        builder.setPiece(new Bishop(Alliance.WHITE, 61));
-        builder.setPiece(new Knight(Alliance.WHITE, 62));
-        builder.setPiece(new Rook(Alliance.WHITE, 63));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.PAWN, 48, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.PAWN, 49, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.PAWN, 50, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.PAWN, 51, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.PAWN, 52, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.PAWN, 53, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.PAWN, 54, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.PAWN, 55, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.ROOK, 56, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.KNIGHT, 57, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.BISHOP, 58, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.QUEEN, 59, true));
+        builder.setPiece(PieceUtils.INSTANCE.getKing(Alliance.WHITE, 60, true, false, true, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.BISHOP, 61, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.KNIGHT, 62, true));
+        builder.setPiece(PieceUtils.INSTANCE.getPiece(Alliance.WHITE, PieceType.ROOK, 63, true));
         //white to move
         builder.setMoveMaker(Alliance.WHITE);
         //build the board
         return builder.build();
     }
 
-    // return collection of legal moves
-    private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
-        return pieces.stream().flatMap(piece -> piece.calculateLegalMoves(this).stream())
-                .collect(Collectors.toList());
+    // calculate collection of active piece with player by walking its occupancy bitboard
+    private static Collection<Piece> calculateActivePieces(final Builder builder,
+                                                           final long occupancy) {
+        final ImmutableList.Builder<Piece> activePieces = ImmutableList.builder();
+        long remaining = occupancy;
+        while (remaining != 0L) {
+            activePieces.add(builder.boardConfig[BitBoards.firstSquare(remaining)]);
+            remaining = BitBoards.popFirstSquare(remaining);
+        }
+        return activePieces.build();
     }
 
-    // calculate collection of active piece with player
-    private static Collection<Piece> calculateActivePieces(final Builder builder,
-                                                           final Alliance alliance) {
-        return builder.boardConfig.values().stream()
-                .filter(piece -> piece.getPieceAllegiance() == alliance)
-                .collect(Collectors.collectingAndThen(Collectors.toList(), ImmutableList::copyOf));
+    // only used when the builder was not handed the key by a move
+    private long calculateZobristKey(final Alliance nextMoveMaker) {
+        long key = 0L;
+        for (final Piece piece : getAllPieces()) {
+            key ^= Zobrist.pieceKey(piece, piece.getPiecePosition());
+        }
+        key ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(getEnPassantSquare());
+        return nextMoveMaker.isBlack() ? key ^ Zobrist.blackToMoveKey() : key;
+    }
+
+    private int calculateCastlingRights(final Alliance alliance,
+                                        final int kingSquare,
+                                        final int kingSideRookSquare,
+                                        final int queenSideRookSquare,
+                                        final int kingSide,
+                                        final int queenSide) {
+        final Piece piece = getPiece(kingSquare);
+        if (piece == null || !piece.getPieceType().isKing() || piece.getPieceAllegiance() != alliance ||
+            !piece.isFirstMove()) {
+            return 0;
+        }
+        final King king = (King) piece;
+        int rights = 0;
+        if (king.isKingSideCastleCapable() && isUnmovedRook(alliance, kingSideRookSquare)) {
+            rights |= kingSide;
+        }
+        if (king.isQueenSideCastleCapable() && isUnmovedRook(alliance, queenSideRookSquare)) {
+            rights |= queenSide;
+        }
+        return rights;
+    }
+
+    private boolean isUnmovedRook(final Alliance alliance,
+                                  final int coordinate) {
+        final Piece piece = getPiece(coordinate);
+        return piece != null && piece.getPieceType().isRook() && piece.getPieceAllegiance() == alliance &&
+               piece.isFirstMove();
+    }
+
+    private static int[] initCastlingRightsMask() {
+        final int[] mask = new int[BoardUtils.NUM_TILES];
+        for (int coordinate = 0; coordinate < mask.length; coordinate++) {
+            mask[coordinate] = WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+        }
+        mask[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        mask[63] &= ~WHITE_KING_SIDE;
+        mask[56] &= ~WHITE_QUEEN_SIDE;
+        mask[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[7] &= ~BLACK_KING_SIDE;
+        mask[0] &= ~BLACK_QUEEN_SIDE;
+        return mask;
     }
 
     public static class Builder {
 
-        Int2ObjectMap<Piece> boardConfig;
+        final Piece[] boardConfig;
+        final long[] pieceBitBoards;
+        long whiteOccupancy;
+        long blackOccupancy;
+        final int[] material;
+        final int[] pieceSquareScores;
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
-        Move transitionMove;
+        int halfmoveClock;
+        int transitionMove;
+        long zobristKey;
+        boolean hasZobristKey;
 
         public Builder() {
-            this.boardConfig = new Int2ObjectOpenHashMap<>(33, 1.0f);
+            this.boardConfig = new Piece[BoardUtils.NUM_TILES];
+            this.pieceBitBoards = new long[BitBoards.NUM_PIECE_BIT_BOARDS];
+            this.material = new int[Alliance.values().length];
+            this.pieceSquareScores = new int[Alliance.values().length];
+        }
+
+        // starts from the pieces of another board, copied array by array; the rest is left to the caller
+        public Builder(final Board board) {
+            this();
+            System.arraycopy(board.boardConfig, 0, this.boardConfig, 0, BoardUtils.NUM_TILES);
+            System.arraycopy(board.pieceBitBoards, 0, this.pieceBitBoards, 0, BitBoards.NUM_PIECE_BIT_BOARDS);
+            this.whiteOccupancy = board.whiteOccupancy;
+            this.blackOccupancy = board.blackOccupancy;
+            System.arraycopy(board.material, 0, this.material, 0, this.material.length);
+            System.arraycopy(board.pieceSquareScores, 0, this.pieceSquareScores, 0, this.pieceSquareScores.length);
         }
 
         public Builder setPiece(final Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            final Piece replaced = this.boardConfig[piece.getPiecePosition()];
+            if (replaced != null) {
+                toggleBitBoards(replaced);
+                updateScores(replaced, -1);
+            }
+            this.boardConfig[piece.getPiecePosition()] = piece;
+            toggleBitBoards(piece);
+            updateScores(piece, 1);
             return this;
         }
 
+        // empty the tile the piece stands on
+        public Builder removePiece(final Piece piece) {
+            final Piece removed = this.boardConfig[piece.getPiecePosition()];
+            if (removed != null) {
+                toggleBitBoards(removed);
+                updateScores(removed, -1);
+                this.boardConfig[piece.getPiecePosition()] = null;
+            }
+            return this;
+        }
+
+        // flip the tile of this piece in its type and occupancy bitboards
+        private void toggleBitBoards(final Piece piece) {
+            final long mask = BitBoards.squareMask(piece.getPiecePosition());
+            this.pieceBitBoards[BitBoards.pieceIndex(piece.getPieceAllegiance(), piece.getPieceType())] ^= mask;
+            if (piece.getPieceAllegiance().isWhite()) {
+                this.whiteOccupancy ^= mask;
+            } else {
+                this.blackOccupancy ^= mask;
+            }
+        }
+
+        // add (sign 1) or take away (sign -1) the value and location bonus of this piece
+        private void updateScores(final Piece piece,
+                                  final int sign) {
+            final int alliance = piece.getPieceAllegiance().ordinal();
+            this.material[alliance] += sign * piece.getPieceValue();
+            this.pieceSquareScores[alliance] += sign * piece.locationBonus();
+        }
+
         public Builder setMoveMaker(final Alliance nextMoveMaker) {
             this.nextMoveMaker = nextMoveMaker;
             return this;
@@ -194,8 +484,20 @@ public final class Board {
             return this;
         }
 
+        public Builder setHalfmoveClock(final int halfmoveClock) {
+            this.halfmoveClock = halfmoveClock;
+            return this;
+        }
+
         public Builder setMoveTransition(final Move transitionMove) {
-            this.transitionMove = transitionMove;
+            this.transitionMove = PackedMove.fromMove(transitionMove);
+            return this;
+        }
+
+        // key worked out incrementally by the move that builds this board
+        public Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            this.hasZobristKey = true;
             return this;
         }
 
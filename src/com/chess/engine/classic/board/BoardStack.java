@@ -0,0 +1,103 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+
+/*
+ * SearchPosition over immutable Boards: a move pushes the Board it leads to
+ * and taking it back pops that Board again.
+ */
+public final class BoardStack implements SearchPosition {
+
+    private static final int MAX_GAME_LENGTH = 1024;
+
+    private final Board[] boards;
+    private int ply;
+
+    public BoardStack(final Board board) {
+        this.boards = new Board[MAX_GAME_LENGTH];
+        this.boards[0] = board;
+        this.ply = 0;
+    }
+
+    @Override
+    public Alliance getSideToMove() {
+        return toBoard().getSideToMove();
+    }
+
+    @Override
+    public int getPieceIndex(final int square) {
+        return toBoard().getPieceIndex(square);
+    }
+
+    @Override
+    public long getPieceBitBoard(final Alliance alliance,
+                                 final PieceType pieceType) {
+        return toBoard().getPieceBitBoard(alliance, pieceType);
+    }
+
+    @Override
+    public long getOccupancy(final Alliance alliance) {
+        return toBoard().getOccupancy(alliance);
+    }
+
+    @Override
+    public long getOccupancy() {
+        return toBoard().getOccupancy();
+    }
+
+    @Override
+    public long getZobristKey() {
+        return toBoard().getZobristKey();
+    }
+
+    @Override
+    public int getHalfmoveClock() {
+        return toBoard().getHalfmoveClock();
+    }
+
+    @Override
+    public boolean isInCheck() {
+        return toBoard().currentPlayer().isInCheck();
+    }
+
+    // only legal moves: the players already filter the ones leaving the king in check
+    @Override
+    public void generateMoves(final MoveList moves) {
+        for (final Move move : toBoard().currentPlayer().getLegalMoves()) {
+            moves.add(PackedMove.fromMove(move));
+        }
+    }
+
+    @Override
+    public boolean makeMove(final int move) {
+        final Move legalMove = PackedMove.toMove(toBoard(), move);
+        if (legalMove == Move.MoveFactory.getNullMove()) {
+            return false;
+        }
+        push(legalMove.execute());
+        return true;
+    }
+
+    @Override
+    public void makeNullMove() {
+        push(toBoard().passTurn());
+    }
+
+    @Override
+    public void unmakeMove() {
+        this.boards[this.ply] = null;
+        this.ply--;
+    }
+
+    @Override
+    public Board toBoard() {
+        return this.boards[this.ply];
+    }
+
+    private void push(final Board board) {
+        this.ply++;
+        this.boards[this.ply] = board;
+    }
+
+}
@@ -1,16 +1,13 @@
 package com.chess.engine.classic.board;
 
-import com.chess.engine.classic.pieces.King;
 import com.chess.engine.classic.pieces.Piece;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static com.chess.engine.classic.board.Move.MoveFactory;
 
 public enum  BoardUtils {
 
@@ -113,41 +110,48 @@ public enum  BoardUtils {
         return transition.getToBoard().currentPlayer().isInCheck();
     }
 
-    //  if the front piece is pawn the king can not castle
-    public static boolean isKingPawnTrap(final Board board,
-                                         final King king,
-                                         final int frontTile) {
-        final Piece piece = board.getPiece(frontTile);
-        return piece != null && piece.getPieceType().isPawn() &&
-                piece.getPieceAllegiance() != king.getPieceAllegiance();
-    }
-
     // AI >>> return value of move
     public static int mvvlva(final Move move) {
-        final Piece movingPiece = move.getMovedPiece();
-        if(move.isAttack()) {
-            final Piece attackedPiece = move.getAttackedPiece();
-            return (attackedPiece.getPieceValue() - movingPiece.getPieceValue() +  Piece.PieceType.KING.getPieceValue()) * 100;
+        return mvvlva(move.getBoard(), PackedMove.fromMove(move));
+    }
+
+    // the same for a packed move of the side to move in the position
+    public static int mvvlva(final Position position,
+                             final int move) {
+        final int movingPiece = position.getPieceIndex(PackedMove.from(move));
+        final int movingPieceValue = BitBoards.pieceType(movingPiece).getPieceValue();
+        if (PackedMove.isCapture(move)) {
+            final int to = PackedMove.to(move);
+            // en passant takes a pawn that is not on the destination tile
+            final int capturedSquare = PackedMove.isEnPassant(move) ?
+                    to - (BitBoards.pieceAlliance(movingPiece).getDirection() * 8) : to;
+            final int attackedPieceValue = BitBoards.pieceType(position.getPieceIndex(capturedSquare)).getPieceValue();
+            return (attackedPieceValue - movingPieceValue + Piece.PieceType.KING.getPieceValue()) * 100;
         }
-        return Piece.PieceType.KING.getPieceValue() - movingPiece.getPieceValue();
+        return Piece.PieceType.KING.getPieceValue() - movingPieceValue;
+    }
+
+    // drawn by the fifty move rule, or the position already appeared the given number of times in the history
+    public static boolean isDraw(final SearchPosition position,
+                                 final MoveHistory moveHistory,
+                                 final int repetitions) {
+        return moveHistory.countRepetitions(position.getZobristKey(), position.getHalfmoveClock()) >= repetitions ||
+               (position.getHalfmoveClock() >= Board.FIFTY_MOVE_RULE_PLIES &&
+                position.toBoard().getGameStatus() == GameStatus.FIFTY_MOVE_RULE);
     }
 
-    // return package of last N move
-    public static List<Move> lastNMoves(final Board board, int N) {
-        final List<Move> moveHistory = new ArrayList<>();
-        Move currentMove = board.getTransitionMove();
-        int i = 0;
-        while(currentMove != MoveFactory.getNullMove() && i < N) {
-            moveHistory.add(currentMove);
-            currentMove = currentMove.getBoard().getTransitionMove();
-            i++;
+    // the board's status plus a draw by threefold repetition of the moves that led to it
+    public static GameStatus gameStatus(final Board board,
+                                        final MoveHistory moveHistory) {
+        final GameStatus gameStatus = board.getGameStatus();
+        if (!gameStatus.isGameOver() && moveHistory.countRepetitions(board.getZobristKey(), board.getHalfmoveClock()) >= 2) {
+            return GameStatus.THREEFOLD_REPETITION;
         }
-        return ImmutableList.copyOf(moveHistory);
+        return gameStatus;
     }
 
     // check if the king can not make other move that mean game over
     public static boolean isEndGame(final Board board) {
-        return board.currentPlayer().isInCheckMate() ||
-                board.currentPlayer().isInStaleMate();
+        return board.getGameStatus().isGameOver();
     }
 }
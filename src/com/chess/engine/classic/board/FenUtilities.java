@@ -0,0 +1,144 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.pieces.*;
+
+/*
+ * Forsyth-Edwards notation in and out of a Board. Castling rights become the
+ * first move / castle capable flags of the kings and rooks. The halfmove
+ * clock is kept; the fullmove number is not tracked by Board and is written
+ * back as 1.
+ */
+public enum FenUtilities {
+
+    INSTANCE;
+
+    public static Board createGameFromFEN(final String fenString) {
+        final String[] fenPartitions = fenString.trim().split("\\s+");
+        if (fenPartitions.length < 4) {
+            throw new IllegalArgumentException("invalid FEN string: " + fenString);
+        }
+        final String castlingRights = fenPartitions[2];
+        final Board.Builder builder = new Board.Builder();
+        int coordinate = 0;
+        for (final char symbol : fenPartitions[0].toCharArray()) {
+            if (symbol == '/') {
+                continue;
+            }
+            if (Character.isDigit(symbol)) {
+                coordinate += symbol - '0';
+                continue;
+            }
+            builder.setPiece(createPiece(symbol, coordinate, castlingRights));
+            coordinate++;
+        }
+        if (coordinate != BoardUtils.NUM_TILES) {
+            throw new IllegalArgumentException("invalid FEN board: " + fenPartitions[0]);
+        }
+        final Alliance moveMaker = moveMaker(fenPartitions[1]);
+        builder.setMoveMaker(moveMaker);
+        if (!fenPartitions[3].equals("-")) {
+            // the pawn that jumped stands one row past the en passant tile
+            final int enPassantSquare = BoardUtils.INSTANCE.getCoordinateAtPosition(fenPartitions[3]);
+            final Alliance jumpedAlliance = moveMaker.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+            builder.setEnPassantPawn((Pawn) PieceUtils.INSTANCE.getPiece(jumpedAlliance, Piece.PieceType.PAWN,
+                    enPassantSquare - (jumpedAlliance.getDirection() * 8), false));
+        }
+        if (fenPartitions.length > 4) {
+            builder.setHalfmoveClock(Integer.parseInt(fenPartitions[4]));
+        }
+        return builder.build();
+    }
+
+    public static String createFENFromGame(final Board board) {
+        return calculateBoardText(board) + " " +
+               (board.currentPlayer().getAlliance().isWhite() ? "w" : "b") + " " +
+               calculateCastleText(board) + " " +
+               (board.getEnPassantSquare() == Board.NO_SQUARE ? "-" :
+                       BoardUtils.INSTANCE.getPositionAtCoordinate(board.getEnPassantSquare())) + " " +
+               board.getHalfmoveClock() + " 1";
+    }
+
+    private static Piece createPiece(final char symbol,
+                                     final int coordinate,
+                                     final String castlingRights) {
+        final Alliance alliance = Character.isUpperCase(symbol) ? Alliance.WHITE : Alliance.BLACK;
+        switch (Character.toLowerCase(symbol)) {
+            case 'p':
+                final int startRow = alliance.isWhite() ? 6 : 1;
+                return PieceUtils.INSTANCE.getPiece(alliance, Piece.PieceType.PAWN, coordinate,
+                        coordinate / BoardUtils.NUM_TILES_PER_ROW == startRow);
+            case 'n':
+                return PieceUtils.INSTANCE.getPiece(alliance, Piece.PieceType.KNIGHT, coordinate, true);
+            case 'b':
+                return PieceUtils.INSTANCE.getPiece(alliance, Piece.PieceType.BISHOP, coordinate, true);
+            case 'r':
+                return PieceUtils.INSTANCE.getPiece(alliance, Piece.PieceType.ROOK, coordinate,
+                        isCastleRook(coordinate, castlingRights));
+            case 'q':
+                return PieceUtils.INSTANCE.getPiece(alliance, Piece.PieceType.QUEEN, coordinate, true);
+            case 'k':
+                final boolean kingSide = castlingRights.indexOf(alliance.isWhite() ? 'K' : 'k') >= 0;
+                final boolean queenSide = castlingRights.indexOf(alliance.isWhite() ? 'Q' : 'q') >= 0;
+                return PieceUtils.INSTANCE.getKing(alliance, coordinate, kingSide || queenSide, false, kingSide, queenSide);
+            default:
+                throw new IllegalArgumentException("invalid FEN piece: " + symbol);
+        }
+    }
+
+    // a rook keeps its first move only while the side may still castle with it
+    private static boolean isCastleRook(final int coordinate,
+                                        final String castlingRights) {
+        return (coordinate == 63 && castlingRights.indexOf('K') >= 0) ||
+               (coordinate == 56 && castlingRights.indexOf('Q') >= 0) ||
+               (coordinate == 7 && castlingRights.indexOf('k') >= 0) ||
+               (coordinate == 0 && castlingRights.indexOf('q') >= 0);
+    }
+
+    private static Alliance moveMaker(final String moveMakerString) {
+        if (moveMakerString.equals("w")) {
+            return Alliance.WHITE;
+        } else if (moveMakerString.equals("b")) {
+            return Alliance.BLACK;
+        }
+        throw new IllegalArgumentException("invalid FEN side to move: " + moveMakerString);
+    }
+
+    private static String calculateBoardText(final Board board) {
+        final StringBuilder builder = new StringBuilder();
+        int emptyTiles = 0;
+        for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+            final Piece piece = board.getPiece(coordinate);
+            if (piece == null) {
+                emptyTiles++;
+            } else {
+                if (emptyTiles > 0) {
+                    builder.append(emptyTiles);
+                    emptyTiles = 0;
+                }
+                builder.append(piece.getPieceAllegiance().isWhite() ?
+                        piece.toString() : piece.toString().toLowerCase());
+            }
+            if ((coordinate + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
+                if (emptyTiles > 0) {
+                    builder.append(emptyTiles);
+                    emptyTiles = 0;
+                }
+                if (coordinate != BoardUtils.NUM_TILES - 1) {
+                    builder.append("/");
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String calculateCastleText(final Board board) {
+        final int castlingRights = board.getCastlingRights();
+        final String castleText = ((castlingRights & Board.WHITE_KING_SIDE) != 0 ? "K" : "") +
+                                  ((castlingRights & Board.WHITE_QUEEN_SIDE) != 0 ? "Q" : "") +
+                                  ((castlingRights & Board.BLACK_KING_SIDE) != 0 ? "k" : "") +
+                                  ((castlingRights & Board.BLACK_QUEEN_SIDE) != 0 ? "q" : "");
+        return castleText.isEmpty() ? "-" : castleText;
+    }
+
+}
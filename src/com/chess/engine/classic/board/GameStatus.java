@@ -0,0 +1,71 @@
+package com.chess.engine.classic.board;
+
+/*
+ * Outcome of a position for the player to move. Checkmate and stalemate are
+ * worked out once per Player, the fifty move rule by the Board from its
+ * halfmove clock; repetitions need the moves that led to the board, see
+ * BoardUtils.gameStatus.
+ */
+public enum GameStatus {
+
+    IN_PROGRESS {
+        @Override
+        public boolean isGameOver() {
+            return false;
+        }
+
+        @Override
+        public boolean isDraw() {
+            return false;
+        }
+    },
+    CHECKMATE {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+
+        @Override
+        public boolean isDraw() {
+            return false;
+        }
+    },
+    STALEMATE {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+
+        @Override
+        public boolean isDraw() {
+            return true;
+        }
+    },
+    FIFTY_MOVE_RULE {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+
+        @Override
+        public boolean isDraw() {
+            return true;
+        }
+    },
+    THREEFOLD_REPETITION {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+
+        @Override
+        public boolean isDraw() {
+            return true;
+        }
+    };
+
+    public abstract boolean isGameOver();
+
+    public abstract boolean isDraw();
+
+}
@@ -0,0 +1,180 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.board.Move.PawnEnPassantAttack;
+import com.chess.engine.classic.pieces.Piece;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collection;
+
+/*
+ * Turns the pieces' pseudo legal moves into strictly legal ones without
+ * building a board per move. Checkers, the check evasion mask and the pin
+ * ray of every pinned piece are worked out once from the bitboards; each
+ * move is then accepted or rejected with a few mask tests. King moves and
+ * en passant, which change the lines through the king, test the attacks on
+ * the king's tile with the occupancy after the move.
+ */
+public enum LegalMoveGenerator {
+
+    INSTANCE;
+
+    private static final long ALL_SQUARES = -1L;
+
+    public static Collection<Move> calculateLegalMoves(final Board board,
+                                                       final Alliance alliance,
+                                                       final Collection<Move> pseudoLegalMoves) {
+        if (board.getPieceBitBoard(alliance, PieceType.KING) == 0L) {
+            return ImmutableList.copyOf(pseudoLegalMoves);
+        }
+        final KingSafety kingSafety = new KingSafety(board, alliance);
+        final ImmutableList.Builder<Move> legalMoves = ImmutableList.builder();
+        for (final Move move : pseudoLegalMoves) {
+            if (kingSafety.isLegal(board, move)) {
+                legalMoves.add(move);
+            }
+        }
+        return legalMoves.build();
+    }
+
+    // stops at the first legal move, king first; castles are never needed since a legal
+    // castle means the king's single step towards the rook is legal as well
+    public static boolean hasLegalMove(final Board board,
+                                       final Alliance alliance,
+                                       final Collection<Piece> pieces) {
+        if (board.getPieceBitBoard(alliance, PieceType.KING) == 0L) {
+            return pieces.stream().anyMatch(piece -> !piece.calculateLegalMoves(board).isEmpty());
+        }
+        final KingSafety kingSafety = new KingSafety(board, alliance);
+        if (hasLegalMove(board, board.getPiece(kingSafety.kingSquare), kingSafety)) {
+            return true;
+        }
+        // in double check only the king may move
+        if (kingSafety.evasionMask == 0L) {
+            return false;
+        }
+        for (final Piece piece : pieces) {
+            if (piece.getPiecePosition() != kingSafety.kingSquare && hasLegalMove(board, piece, kingSafety)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasLegalMove(final Board board,
+                                        final Piece piece,
+                                        final KingSafety kingSafety) {
+        for (final Move move : piece.calculateLegalMoves(board)) {
+            if (kingSafety.isLegal(board, move)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // tiles a non king move may go to: anywhere, the checker or a tile blocking it, or nowhere in double check
+    private static long calculateEvasionMask(final int kingSquare,
+                                             final long checkers) {
+        if (checkers == 0L) {
+            return ALL_SQUARES;
+        }
+        if (BitBoards.count(checkers) > 1) {
+            return 0L;
+        }
+        return checkers | between(kingSquare, BitBoards.firstSquare(checkers));
+    }
+
+    // tiles each own piece may move to without exposing the king; unpinned pieces may go anywhere
+    private static long[] calculatePinRays(final Board board,
+                                           final int kingSquare,
+                                           final Alliance them,
+                                           final long own,
+                                           final long occupancy) {
+        final long[] pinRays = new long[BoardUtils.NUM_TILES];
+        for (int square = 0; square < pinRays.length; square++) {
+            pinRays[square] = ALL_SQUARES;
+        }
+        final long queens = board.getPieceBitBoard(them, PieceType.QUEEN);
+        long snipers = (MagicBitBoards.rookAttacks(kingSquare, 0L) &
+                        (board.getPieceBitBoard(them, PieceType.ROOK) | queens)) |
+                       (MagicBitBoards.bishopAttacks(kingSquare, 0L) &
+                        (board.getPieceBitBoard(them, PieceType.BISHOP) | queens));
+        while (snipers != 0L) {
+            final int sniper = BitBoards.firstSquare(snipers);
+            final long ray = between(kingSquare, sniper);
+            final long blockers = ray & occupancy;
+            if (BitBoards.count(blockers) == 1 && (blockers & own) != 0L) {
+                pinRays[BitBoards.firstSquare(blockers)] = ray | BitBoards.squareMask(sniper);
+            }
+            snipers = BitBoards.popFirstSquare(snipers);
+        }
+        return pinRays;
+    }
+
+    // tiles strictly between two tiles on a rank, file or diagonal, or none
+    private static long between(final int from,
+                                final int to) {
+        final long fromMask = BitBoards.squareMask(from);
+        final long toMask = BitBoards.squareMask(to);
+        if ((MagicBitBoards.rookAttacks(from, 0L) & toMask) != 0L) {
+            return MagicBitBoards.rookAttacks(from, toMask) & MagicBitBoards.rookAttacks(to, fromMask);
+        }
+        if ((MagicBitBoards.bishopAttacks(from, 0L) & toMask) != 0L) {
+            return MagicBitBoards.bishopAttacks(from, toMask) & MagicBitBoards.bishopAttacks(to, fromMask);
+        }
+        return 0L;
+    }
+
+    // pieces of the attacking side, other than the captured ones, that attack the tile with the given occupancy
+    private static long attackersOf(final Board board,
+                                    final int square,
+                                    final Alliance attacker,
+                                    final long occupancy,
+                                    final long captured) {
+        return board.attackersOf(square, attacker, occupancy) & ~captured;
+    }
+
+    private static Alliance opponent(final Alliance alliance) {
+        return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+
+    // checkers, evasion mask and pin rays of one side, worked out once per position
+    private static final class KingSafety {
+
+        private final int kingSquare;
+        private final Alliance them;
+        private final long occupancy;
+        private final long evasionMask;
+        private final long[] pinRays;
+
+        private KingSafety(final Board board,
+                           final Alliance alliance) {
+            this.kingSquare = BitBoards.firstSquare(board.getPieceBitBoard(alliance, PieceType.KING));
+            this.them = opponent(alliance);
+            this.occupancy = board.getOccupancy();
+            final long checkers = attackersOf(board, this.kingSquare, this.them, this.occupancy, 0L);
+            this.evasionMask = calculateEvasionMask(this.kingSquare, checkers);
+            this.pinRays = calculatePinRays(board, this.kingSquare, this.them, board.getOccupancy(alliance), this.occupancy);
+        }
+
+        private boolean isLegal(final Board board,
+                                final Move move) {
+            final int from = move.getCurrentCoordinate();
+            final int to = move.getDestinationCoordinate();
+            final long toMask = BitBoards.squareMask(to);
+            if (from == this.kingSquare) {
+                // the king must not stay on a line it is blocking itself
+                return attackersOf(board, to, this.them, this.occupancy ^ BitBoards.squareMask(this.kingSquare), toMask) == 0L;
+            }
+            if (move instanceof PawnEnPassantAttack) {
+                final long capturedMask = BitBoards.squareMask(move.getAttackedPiece().getPiecePosition());
+                final long occupancyAfter = (this.occupancy ^ BitBoards.squareMask(from) ^ capturedMask) | toMask;
+                return attackersOf(board, this.kingSquare, this.them, occupancyAfter, capturedMask) == 0L;
+            }
+            return (toMask & this.evasionMask & this.pinRays[from]) != 0L;
+        }
+
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.chess.engine.classic.board;
+
+public enum MagicBitBoards {
+
+    INSTANCE;
+
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    // found once by trial of sparse random numbers; each maps every relevant occupancy of its square to a
+    // table index without a destructive collision, and the shift leaves as many bits as the mask has tiles
+    private static final long[] ROOK_MAGICS = {
+            0x0A80001080244000L, 0x8440049000200240L, 0xA080200080100008L, 0x4300086205001000L,
+            0x66002004700A0008L, 0x3200081001040200L, 0x3080008002000100L, 0x0E00004081082204L,
+            0x1400800080304000L, 0x1020401000200040L, 0x4000801000802000L, 0x0002000C20401200L,
+            0x0020800400800800L, 0x0080800400800200L, 0x4004001008020481L, 0x0140800040800100L,
+            0x00C0828000204000L, 0x0040010020408901L, 0x0841010040200010L, 0x240012000A420021L,
+            0x1200808004000800L, 0x0002010100040008L, 0x0200040002011008L, 0x8090020000A04104L,
+            0x0200400080008020L, 0x0200400180200080L, 0x2440410100200010L, 0x2090100080080080L,
+            0x0002050100080010L, 0x8B0A000200100804L, 0x0200100400020108L, 0xC1C2050600004084L,
+            0x0020800101002040L, 0x2000804000802010L, 0x2400820042002011L, 0x1000201001000904L,
+            0x8041001005000800L, 0x4000040080800200L, 0x0002005812000401L, 0xA0408004C0800B00L,
+            0x0410400080288000L, 0x127002432004C000L, 0x2C80408208220010L, 0x8409042010010008L,
+            0x0000080004008080L, 0x0084000402008080L, 0x0418902221240008L, 0x80021302408A0004L,
+            0x0540002080104080L, 0x20200040100020C0L, 0x0040100020048480L, 0x4440080080100080L,
+            0x0802050010080100L, 0x0348020004008080L, 0x8001001402005100L, 0x0882800100004080L,
+            0x2001008000204011L, 0x4082014303142082L, 0x8040090520001041L, 0x001221005000C805L,
+            0x0201001002040801L, 0x1002001001040882L, 0x8000109022010804L, 0xA02201108C004022L
+    };
+    private static final int[] ROOK_SHIFTS = {
+            52, 53, 53, 53, 53, 53, 53, 52,
+            53, 54, 54, 54, 54, 54, 54, 53,
+            53, 54, 54, 54, 54, 54, 54, 53,
+            53, 54, 54, 54, 54, 54, 54, 53,
+            53, 54, 54, 54, 54, 54, 54, 53,
+            53, 54, 54, 54, 54, 54, 54, 53,
+            53, 54, 54, 54, 54, 54, 54, 53,
+            52, 53, 53, 53, 53, 53, 53, 52
+    };
+    private static final long[] BISHOP_MAGICS = {
+            0x4641140404004014L, 0x8142220809011000L, 0x4030530200701218L, 0x00022082000C0480L,
+            0x8004042124000080L, 0x02AA080208800048L, 0x030A011C82404008L, 0x0000104804500800L,
+            0x0840081044008400L, 0xC101040108020084L, 0x0060080811002200L, 0x0000242401800042L,
+            0x0030011040000000L, 0x0208008804400800L, 0x0000040148080484L, 0x0000008208010402L,
+            0x0010210644100400L, 0x0010008801082080L, 0x180A480800810200L, 0x0400800802044400L,
+            0x8202140401200000L, 0x501200414804242CL, 0x0441014C48080480L, 0x0802282844141400L,
+            0x01044011A0020400L, 0x4030280830018101L, 0x0000881010004010L, 0x0001040080440080L,
+            0x0110030004200802L, 0x0140420100411008L, 0x000C028222621042L, 0x6822004804884804L,
+            0x4008200418122400L, 0xC002121001210144L, 0x4207080101020400L, 0x7422020082180080L,
+            0x2054050201240048L, 0x100604010000B000L, 0x141401104B020805L, 0x00042100223A0082L,
+            0x2004042008880400L, 0x0004024802020480L, 0x008100128A003001L, 0x1000002018000100L,
+            0x1082011024000080L, 0x8820081000200112L, 0x104870210C400200L, 0x011C010408388100L,
+            0x2C00880802100200L, 0x890044008410A800L, 0x0051021042084006L, 0x1410011084044000L,
+            0x1000001002088004L, 0x2006202411820000L, 0x00C0032204130A00L, 0x0820640420444080L,
+            0x1200208808084208L, 0xA000404058084822L, 0x5000010042080420L, 0x84100E9041228800L,
+            0x0000240040028210L, 0x0000002104010200L, 0x01A0441418882102L, 0x0108103040802080L
+    };
+    private static final int[] BISHOP_SHIFTS = {
+            58, 59, 59, 59, 59, 59, 59, 58,
+            59, 59, 59, 59, 59, 59, 59, 59,
+            59, 59, 57, 57, 57, 57, 59, 59,
+            59, 59, 57, 55, 55, 57, 59, 59,
+            59, 59, 57, 55, 55, 57, 59, 59,
+            59, 59, 57, 57, 57, 57, 59, 59,
+            59, 59, 59, 59, 59, 59, 59, 59,
+            58, 59, 59, 59, 59, 59, 59, 58
+    };
+
+    private static final long[] ROOK_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final long[][] ROOK_ATTACKS = new long[BoardUtils.NUM_TILES][];
+    private static final long[] BISHOP_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final long[][] BISHOP_ATTACKS = new long[BoardUtils.NUM_TILES][];
+
+    static {
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            initSquare(square, ROOK_DIRECTIONS, ROOK_MAGICS[square], ROOK_SHIFTS[square], ROOK_MASKS, ROOK_ATTACKS);
+            initSquare(square, BISHOP_DIRECTIONS, BISHOP_MAGICS[square], BISHOP_SHIFTS[square], BISHOP_MASKS, BISHOP_ATTACKS);
+        }
+    }
+
+    // tiles a rook on this square attacks, stopping at (and including) the first blocker on each ray
+    public static long rookAttacks(final int square,
+                                   final long occupancy) {
+        return ROOK_ATTACKS[square][(int) (((occupancy & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    // tiles a bishop on this square attacks, stopping at (and including) the first blocker on each ray
+    public static long bishopAttacks(final int square,
+                                     final long occupancy) {
+        return BISHOP_ATTACKS[square][(int) (((occupancy & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    public static long queenAttacks(final int square,
+                                    final long occupancy) {
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+
+    // build mask and attack table of one square for one kind of slider from its magic number
+    private static void initSquare(final int square,
+                                   final int[][] directions,
+                                   final long magic,
+                                   final int shift,
+                                   final long[] masks,
+                                   final long[][] attacks) {
+        final long mask = relevantOccupancyMask(square, directions);
+        final long[] table = new long[1 << (64 - shift)];
+        final boolean[] used = new boolean[table.length];
+        long subset = 0L;
+        do {
+            final int index = (int) ((subset * magic) >>> shift);
+            final long reference = slidingAttacks(square, subset, directions);
+            if (used[index] && table[index] != reference) {
+                throw new IllegalStateException("magic number collides on square " + square);
+            }
+            used[index] = true;
+            table[index] = reference;
+            subset = (subset - mask) & mask;
+        } while (subset != 0L);
+        masks[square] = mask;
+        attacks[square] = table;
+    }
+
+    // the ray tiles whose occupancy changes the attack set (board edges excluded)
+    private static long relevantOccupancyMask(final int square,
+                                              final int[][] directions) {
+        long mask = 0L;
+        for (final int[] direction : directions) {
+            int row = square / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+            int column = square % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+            while (isOnBoard(row + direction[0], column + direction[1])) {
+                mask |= BitBoards.squareMask(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    // walk each ray until the edge or the first occupied tile
+    private static long slidingAttacks(final int square,
+                                       final long occupancy,
+                                       final int[][] directions) {
+        long attacks = 0L;
+        for (final int[] direction : directions) {
+            int row = square / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+            int column = square % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+            while (isOnBoard(row, column)) {
+                final long target = BitBoards.squareMask(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                attacks |= target;
+                if ((occupancy & target) != 0L) {
+                    break;
+                }
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isOnBoard(final int row,
+                                     final int column) {
+        return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW &&
+               column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+}
@@ -1,8 +1,11 @@
 package com.chess.engine.classic.board;
 
+import com.chess.engine.classic.Alliance;
 import com.chess.engine.classic.board.Board.Builder;
 import com.chess.engine.classic.pieces.Pawn;
 import com.chess.engine.classic.pieces.Piece;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+import com.chess.engine.classic.pieces.PieceUtils;
 import com.chess.engine.classic.pieces.Rook;
 
 public abstract class Move {
@@ -82,21 +85,51 @@ public abstract class Move {
     }
 
     public Board execute() {
-        final Board.Builder builder = new Builder();
-        this.board.currentPlayer().getActivePieces().stream().filter(piece -> !this.movedPiece.equals(piece)).forEach(builder::setPiece);
-        this.board.currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
+        final Board.Builder builder = new Builder(this.board);
+        builder.removePiece(this.movedPiece);
         builder.setPiece(this.movedPiece.movePiece(this));
-        builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+        builder.setMoveMaker(nextMoveMaker());
         builder.setMoveTransition(this);
+        builder.setHalfmoveClock(nextHalfmoveClock());
+        builder.setZobristKey(nextZobristKey(movedPieceKeys(), Board.NO_SQUARE));
         return builder.build();
     }
 
-    public Board undo() {
-        final Board.Builder builder = new Builder();
-        for (final Piece piece : this.board.getAllPieces()) {
-            builder.setPiece(piece);
+    // the side to move after this move
+    Alliance nextMoveMaker() {
+        return this.movedPiece.getPieceAllegiance().isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+
+    // captures and pawn moves restart the count towards the fifty move rule
+    int nextHalfmoveClock() {
+        return isAttack() || this.movedPiece.getPieceType().isPawn() ? 0 : this.board.getHalfmoveClock() + 1;
+    }
+
+    // keys of the moved piece leaving and entering its tiles and of the captured piece
+    long movedPieceKeys() {
+        long keys = Zobrist.pieceKey(this.movedPiece, getCurrentCoordinate()) ^
+                    Zobrist.pieceKey(this.movedPiece, this.destinationCoordinate);
+        final Piece attackedPiece = getAttackedPiece();
+        if (attackedPiece != null) {
+            keys ^= Zobrist.pieceKey(attackedPiece, attackedPiece.getPiecePosition());
         }
+        return keys;
+    }
+
+    // zobrist key of the board after this move, updated from the key of the board it is played on
+    long nextZobristKey(final long pieceKeys,
+                        final int enPassantSquare) {
+        final int castlingRights = this.board.getCastlingRights() &
+                Board.castlingRightsMask(getCurrentCoordinate()) & Board.castlingRightsMask(this.destinationCoordinate);
+        return this.board.getZobristKey() ^ pieceKeys ^ Zobrist.blackToMoveKey() ^
+               Zobrist.castlingKey(this.board.getCastlingRights()) ^ Zobrist.castlingKey(castlingRights) ^
+               Zobrist.enPassantKey(this.board.getEnPassantSquare()) ^ Zobrist.enPassantKey(enPassantSquare);
+    }
+
+    public Board undo() {
+        final Board.Builder builder = new Builder(this.board);
         builder.setMoveMaker(this.board.currentPlayer().getAlliance());
+        builder.setHalfmoveClock(this.board.getHalfmoveClock());
         return builder.build();
     }
 
@@ -162,16 +195,23 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Board pawnMovedBoard = this.decoratedMove.execute();
-            final Board.Builder builder = new Builder();
-            pawnMovedBoard.currentPlayer().getActivePieces().stream().filter(piece -> !this.promotedPawn.equals(piece)).forEach(builder::setPiece);
-            pawnMovedBoard.currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
+            // the promoted piece goes straight to the last row, no board is built for the pawn move
+            final Board.Builder builder = new Builder(this.board);
+            builder.removePiece(this.promotedPawn);
             builder.setPiece(this.promotionPiece.movePiece(this));
-            builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
+            builder.setMoveMaker(nextMoveMaker());
             builder.setMoveTransition(this);
+            builder.setHalfmoveClock(nextHalfmoveClock());
+            builder.setZobristKey(this.decoratedMove.nextZobristKey(this.decoratedMove.movedPieceKeys(), Board.NO_SQUARE) ^
+                                  Zobrist.pieceKey(this.promotedPawn, this.destinationCoordinate) ^
+                                  Zobrist.pieceKey(this.promotionPiece, this.destinationCoordinate));
             return builder.build();
         }
 
+        public Piece getPromotionPiece() {
+            return this.promotionPiece;
+        }
+
         @Override
         public boolean isAttack() {
             return this.decoratedMove.isAttack();
@@ -296,23 +336,23 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Board.Builder builder = new Builder();
-            this.board.currentPlayer().getActivePieces().stream().filter(piece -> !this.movedPiece.equals(piece)).forEach(builder::setPiece);
-            this.board.currentPlayer().getOpponent().getActivePieces().stream().filter(piece -> !piece.equals(this.getAttackedPiece())).forEach(builder::setPiece);
+            final Board.Builder builder = new Builder(this.board);
+            builder.removePiece(this.movedPiece);
+            builder.removePiece(getAttackedPiece());
             builder.setPiece(this.movedPiece.movePiece(this));
-            builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setMoveMaker(nextMoveMaker());
             builder.setMoveTransition(this);
+            builder.setHalfmoveClock(nextHalfmoveClock());
+            builder.setZobristKey(nextZobristKey(movedPieceKeys(), Board.NO_SQUARE));
             return builder.build();
         }
 
         @Override
         public Board undo() {
-            final Board.Builder builder = new Builder();
-            for (final Piece piece : this.board.getAllPieces()) {
-                builder.setPiece(piece);
-            }
+            final Board.Builder builder = new Builder(this.board);
             builder.setEnPassantPawn((Pawn)this.getAttackedPiece());
             builder.setMoveMaker(this.board.currentPlayer().getAlliance());
+            builder.setHalfmoveClock(this.board.getHalfmoveClock());
             return builder.build();
         }
 
@@ -334,14 +374,15 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Board.Builder builder = new Builder();
-            this.board.currentPlayer().getActivePieces().stream().filter(piece -> !this.movedPiece.equals(piece)).forEach(builder::setPiece);
-            this.board.currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
+            final Board.Builder builder = new Builder(this.board);
+            builder.removePiece(this.movedPiece);
             final Pawn movedPawn = (Pawn)this.movedPiece.movePiece(this);
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
-            builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setMoveMaker(nextMoveMaker());
             builder.setMoveTransition(this);
+            builder.setHalfmoveClock(nextHalfmoveClock());
+            builder.setZobristKey(nextZobristKey(movedPieceKeys(), (getCurrentCoordinate() + this.destinationCoordinate) / 2));
             return builder.build();
         }
 
@@ -382,17 +423,19 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Board.Builder builder = new Builder();
-            for (final Piece piece : this.board.getAllPieces()) {
-                if (!this.movedPiece.equals(piece) && !this.castleRook.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
+            final Board.Builder builder = new Builder(this.board);
+            builder.removePiece(this.movedPiece);
+            builder.removePiece(this.castleRook);
             builder.setPiece(this.movedPiece.movePiece(this));
-            //calling movePiece here doesn't work, we need to explicitly create a new Rook
-            builder.setPiece(new Rook(this.castleRook.getPieceAllegiance(), this.castleRookDestination, false));
-            builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            //calling movePiece here doesn't work, the rook is looked up at its destination instead
+            builder.setPiece(PieceUtils.INSTANCE.getMovedRook(this.castleRook.getPieceAllegiance(), this.castleRookDestination));
+            builder.setMoveMaker(nextMoveMaker());
             builder.setMoveTransition(this);
+            builder.setHalfmoveClock(nextHalfmoveClock());
+            builder.setZobristKey(nextZobristKey(movedPieceKeys() ^
+                                                 Zobrist.pieceKey(this.castleRook, this.castleRookStart) ^
+                                                 Zobrist.pieceKey(this.castleRook, this.castleRookDestination),
+                                                 Board.NO_SQUARE));
             return builder.build();
         }
 
@@ -565,16 +608,22 @@ public abstract class Move {
             return NULL_MOVE;
         }
 
+        // a pawn reaching the last row promotes to a queen
         public static Move createMove(final Board board,
                                       final int currentCoordinate,
                                       final int destinationCoordinate) {
-            for (final Move move : board.getAllLegalMoves()) {
-                if (move.getCurrentCoordinate() == currentCoordinate &&
-                    move.getDestinationCoordinate() == destinationCoordinate) {
-                    return move;
-                }
-            }
-            return NULL_MOVE;
+            final Move move = createMove(board, currentCoordinate, destinationCoordinate, null);
+            return move != NULL_MOVE ? move : createMove(board, currentCoordinate, destinationCoordinate, PieceType.QUEEN);
+        }
+
+        // looked up in the players' move indexes, side to move first
+        public static Move createMove(final Board board,
+                                      final int currentCoordinate,
+                                      final int destinationCoordinate,
+                                      final PieceType promotionType) {
+            final Move move = board.currentPlayer().getMove(currentCoordinate, destinationCoordinate, promotionType);
+            return move != NULL_MOVE ? move :
+                    board.currentPlayer().getOpponent().getMove(currentCoordinate, destinationCoordinate, promotionType);
         }
     }
 }
\ No newline at end of file
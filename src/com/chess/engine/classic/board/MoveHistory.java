@@ -0,0 +1,112 @@
+package com.chess.engine.classic.board;
+
+/*
+ * The moves that led to a position, owned by whoever plays them (a game, a
+ * search) instead of being reachable from the boards. Each entry is a
+ * PackedMove and the zobrist key of the board it was played on. Entries live
+ * in a power of two ring buffer, so a long game overwrites its oldest moves
+ * rather than growing the heap.
+ */
+public final class MoveHistory {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int[] moves;
+    private final long[] zobristKeys;
+    private final int mask;
+    private int next;
+    private int size;
+
+    public MoveHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveHistory(final int capacity) {
+        final int numEntries = Integer.highestOneBit(Math.max(1, capacity));
+        this.moves = new int[numEntries];
+        this.zobristKeys = new long[numEntries];
+        this.mask = numEntries - 1;
+        this.next = 0;
+        this.size = 0;
+    }
+
+    // record a move and the key of the board it is played on
+    public void push(final int move,
+                     final long zobristKey) {
+        this.moves[this.next] = move;
+        this.zobristKeys[this.next] = zobristKey;
+        this.next = (this.next + 1) & this.mask;
+        this.size = Math.min(this.size + 1, this.moves.length);
+    }
+
+    public void push(final Move move) {
+        push(PackedMove.fromMove(move), move.getBoard().getZobristKey());
+    }
+
+    // forget the last move, if it is still held
+    public void pop() {
+        if (this.size > 0) {
+            this.next = (this.next - 1) & this.mask;
+            this.size--;
+        }
+    }
+
+    public void clear() {
+        this.next = 0;
+        this.size = 0;
+    }
+
+    // number of moves held, at most the capacity
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    // the packed move played movesAgo moves back, 0 being the last one
+    public int getMove(final int movesAgo) {
+        return this.moves[index(movesAgo)];
+    }
+
+    // the key of the board that move was played on
+    public long getZobristKey(final int movesAgo) {
+        return this.zobristKeys[index(movesAgo)];
+    }
+
+    // earlier boards with this key and the same side to move; only the last halfmoveClock
+    // plies can repeat, a capture or pawn move before them changed the position for good,
+    // and a null move from the search ends the scan the same way
+    public int countRepetitions(final long zobristKey,
+                                final int halfmoveClock) {
+        int repetitions = 0;
+        final int plies = Math.min(this.size, halfmoveClock);
+        for (int movesAgo = 0; movesAgo < plies; movesAgo++) {
+            if (getMove(movesAgo) == PackedMove.NULL_MOVE) {
+                break;
+            }
+            if ((movesAgo & 1) == 1 && getZobristKey(movesAgo) == zobristKey) {
+                repetitions++;
+            }
+        }
+        return repetitions;
+    }
+
+    public MoveHistory copy() {
+        final MoveHistory copy = new MoveHistory(this.moves.length);
+        System.arraycopy(this.moves, 0, copy.moves, 0, this.moves.length);
+        System.arraycopy(this.zobristKeys, 0, copy.zobristKeys, 0, this.zobristKeys.length);
+        copy.next = this.next;
+        copy.size = this.size;
+        return copy;
+    }
+
+    private int index(final int movesAgo) {
+        if (movesAgo < 0 || movesAgo >= this.size) {
+            throw new IndexOutOfBoundsException("no move " + movesAgo + " moves ago, " + this.size + " held");
+        }
+        return (this.next - 1 - movesAgo) & this.mask;
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.chess.engine.classic.board;
+
+/*
+ * Reusable buffer of packed moves (see PackedMove). The search keeps one per
+ * ply and clears it instead of allocating a new collection per node.
+ */
+public final class MoveList {
+
+    public static final int MAX_MOVES = 256;
+
+    private final int[] moves;
+    private int size;
+
+    public MoveList() {
+        this.moves = new int[MAX_MOVES];
+        this.size = 0;
+    }
+
+    public void add(final int move) {
+        this.moves[this.size++] = move;
+    }
+
+    public int get(final int index) {
+        return this.moves[index];
+    }
+
+    public void set(final int index,
+                    final int move) {
+        this.moves[index] = move;
+    }
+
+    public void swap(final int first,
+                     final int second) {
+        final int move = this.moves[first];
+        this.moves[first] = this.moves[second];
+        this.moves[second] = move;
+    }
+
+    // the move, if it is in the list, goes first; the moves before it each move up one place
+    public void moveToFront(final int move) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.moves[i] == move) {
+                System.arraycopy(this.moves, 0, this.moves, 1, i);
+                this.moves[0] = move;
+                return;
+            }
+        }
+    }
+
+    public boolean contains(final int move) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < this.size; i++) {
+            builder.append(i == 0 ? "" : ", ").append(PackedMove.toString(this.moves[i]));
+        }
+        return builder.append("]").toString();
+    }
+
+}
@@ -1,19 +1,80 @@
 package com.chess.engine.classic.board;
 
-import static com.chess.engine.classic.board.Move.*;
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.pieces.Piece.PieceType;
 
 public enum MoveUtils {
 
     INSTANCE;
 
-    public static int exchangeScore(final Move move) {
-        if(move == MoveFactory.getNullMove()) {
-            return 1;
+    private static final int MAX_EXCHANGE_LENGTH = 32;
+
+    // static exchange evaluation: the material the mover wins (or loses, if negative) once both sides have
+    // recaptured on the destination tile with their least valuable attacker for as long as it pays. Each
+    // capture empties a tile, so a slider lined up behind the capturing piece joins in (x-ray).
+    public static int see(final Move move) {
+        return see(move.getBoard(), PackedMove.fromMove(move));
+    }
+
+    // the same for a packed move of the side to move in the position
+    public static int see(final Position position,
+                          final int move) {
+        final int from = PackedMove.from(move);
+        final int destination = PackedMove.to(move);
+        final int movedPiece = position.getPieceIndex(from);
+        final Alliance mover = BitBoards.pieceAlliance(movedPiece);
+        final int[] gain = new int[MAX_EXCHANGE_LENGTH];
+        long occupancy = position.getOccupancy() & ~BitBoards.squareMask(from);
+        int victimValue = BitBoards.pieceType(movedPiece).getPieceValue();
+        if (PackedMove.isCapture(move)) {
+            // en passant takes a pawn that is not on the destination tile
+            final int capturedSquare = PackedMove.isEnPassant(move) ?
+                    destination - (mover.getDirection() * 8) : destination;
+            gain[0] = BitBoards.pieceType(position.getPieceIndex(capturedSquare)).getPieceValue();
+            occupancy &= ~BitBoards.squareMask(capturedSquare);
+        }
+        if (PackedMove.isPromotion(move)) {
+            victimValue = PackedMove.promotionType(move).getPieceValue();
+            gain[0] += victimValue - PieceType.PAWN.getPieceValue();
         }
-        return move.isAttack() ?
-                5 * exchangeScore(move.getBoard().getTransitionMove()) :
-                exchangeScore(move.getBoard().getTransitionMove());
+        Alliance side = opponent(mover);
+        int depth = 0;
+        while (depth < MAX_EXCHANGE_LENGTH - 1) {
+            final long attackers = position.attackersOf(destination, side, occupancy) & occupancy;
+            if (attackers == 0L) {
+                break;
+            }
+            PieceType attackerType = PieceType.KING;
+            long attacker = 0L;
+            for (final PieceType pieceType : PieceType.values()) {
+                final long pieces = attackers & position.getPieceBitBoard(side, pieceType);
+                if (pieces != 0L) {
+                    attackerType = pieceType;
+                    attacker = pieces & -pieces;
+                    break;
+                }
+            }
+            // the king cannot take on a tile the other side still defends
+            if (attackerType == PieceType.KING &&
+                    (position.attackersOf(destination, opponent(side), occupancy & ~attacker) & occupancy & ~attacker) != 0L) {
+                break;
+            }
+            depth++;
+            gain[depth] = victimValue - gain[depth - 1];
+            occupancy &= ~attacker;
+            victimValue = attackerType.getPieceValue();
+            side = opponent(side);
+        }
+        // each side may stop capturing when that is better than going on
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
 
+    private static Alliance opponent(final Alliance alliance) {
+        return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
     }
 
 }
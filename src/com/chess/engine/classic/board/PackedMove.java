@@ -0,0 +1,152 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.board.Move.MoveFactory;
+import com.chess.engine.classic.board.Move.PawnEnPassantAttack;
+import com.chess.engine.classic.board.Move.PawnJump;
+import com.chess.engine.classic.board.Move.PawnPromotion;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+
+/*
+ * 16 bit move encoding used by the search: from (bits 0-5), to (bits 6-11)
+ * and a 4 bit flag (bits 12-15). Flag bit 2 marks captures, bit 3 marks
+ * promotions with the promoted piece in the low two flag bits.
+ */
+public enum PackedMove {
+
+    INSTANCE;
+
+    public static final int NULL_MOVE = 0;
+
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int KING_CASTLE = 2;
+    public static final int QUEEN_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int KNIGHT_PROMOTION = 8;
+    public static final int BISHOP_PROMOTION = 9;
+    public static final int ROOK_PROMOTION = 10;
+    public static final int QUEEN_PROMOTION = 11;
+    public static final int KNIGHT_PROMOTION_CAPTURE = 12;
+    public static final int BISHOP_PROMOTION_CAPTURE = 13;
+    public static final int ROOK_PROMOTION_CAPTURE = 14;
+    public static final int QUEEN_PROMOTION_CAPTURE = 15;
+
+    private static final int CAPTURE_BIT = 4;
+    private static final int PROMOTION_BIT = 8;
+    private static final PieceType[] PROMOTION_TYPES = {PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN};
+
+    public static int encode(final int from,
+                             final int to,
+                             final int flags) {
+        return from | (to << 6) | (flags << 12);
+    }
+
+    public static int from(final int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(final int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int flags(final int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    public static boolean isCapture(final int move) {
+        return (flags(move) & CAPTURE_BIT) != 0;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return (flags(move) & PROMOTION_BIT) != 0;
+    }
+
+    public static boolean isEnPassant(final int move) {
+        return flags(move) == EN_PASSANT;
+    }
+
+    public static boolean isCastle(final int move) {
+        return flags(move) == KING_CASTLE || flags(move) == QUEEN_CASTLE;
+    }
+
+    public static boolean isDoublePawnPush(final int move) {
+        return flags(move) == DOUBLE_PAWN_PUSH;
+    }
+
+    // promoted piece type, or null when the move does not promote
+    public static PieceType promotionType(final int move) {
+        return isPromotion(move) ? PROMOTION_TYPES[flags(move) & 0x3] : null;
+    }
+
+    // flag of a promotion to this piece type
+    public static int promotionFlags(final PieceType pieceType,
+                                     final boolean isCapture) {
+        final int flags;
+        switch (pieceType) {
+            case KNIGHT:
+                flags = KNIGHT_PROMOTION;
+                break;
+            case BISHOP:
+                flags = BISHOP_PROMOTION;
+                break;
+            case ROOK:
+                flags = ROOK_PROMOTION;
+                break;
+            case QUEEN:
+                flags = QUEEN_PROMOTION;
+                break;
+            default:
+                throw new IllegalArgumentException("cannot promote to " + pieceType);
+        }
+        return isCapture ? flags | CAPTURE_BIT : flags;
+    }
+
+    // pack one of the Board's moves
+    public static int fromMove(final Move move) {
+        if (move == MoveFactory.getNullMove()) {
+            return NULL_MOVE;
+        }
+        final int from = move.getCurrentCoordinate();
+        final int to = move.getDestinationCoordinate();
+        final int flags;
+        if (move instanceof PawnPromotion) {
+            flags = promotionFlags(((PawnPromotion) move).getPromotionPiece().getPieceType(), move.isAttack());
+        } else if (move instanceof PawnEnPassantAttack) {
+            flags = EN_PASSANT;
+        } else if (move instanceof PawnJump) {
+            flags = DOUBLE_PAWN_PUSH;
+        } else if (move.isCastlingMove()) {
+            flags = to > from ? KING_CASTLE : QUEEN_CASTLE;
+        } else {
+            flags = move.isAttack() ? CAPTURE : QUIET;
+        }
+        return encode(from, to, flags);
+    }
+
+    // find the Board move this packed move stands for, or the null move
+    public static Move toMove(final Board board,
+                              final int move) {
+        final Move candidate = board.currentPlayer().getMove(from(move), to(move), promotionType(move));
+        return fromMove(candidate) == move ? candidate : MoveFactory.getNullMove();
+    }
+
+    // from, to and promoted piece only: enough to tell apart the legal moves of one position
+    public static int lookupKey(final int from,
+                                final int to,
+                                final PieceType promotionType) {
+        return encode(from, to, promotionType == null ? QUIET : promotionFlags(promotionType, false));
+    }
+
+    public static int lookupKey(final int move) {
+        return lookupKey(from(move), to(move), promotionType(move));
+    }
+
+    public static String toString(final int move) {
+        final PieceType promotion = promotionType(move);
+        return BoardUtils.INSTANCE.getPositionAtCoordinate(from(move)) +
+               BoardUtils.INSTANCE.getPositionAtCoordinate(to(move)) +
+               (promotion == null ? "" : promotion.toString().toLowerCase());
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+
+/*
+ * What a move orderer or an exchange evaluator needs to see of a position:
+ * the side to move and where the pieces are. Both the immutable Board and
+ * the search's mutable positions (SearchPosition) provide it.
+ */
+public interface Position {
+
+    int NO_PIECE = -1;
+
+    Alliance getSideToMove();
+
+    // piece index (BitBoards.pieceIndex) on the tile, or NO_PIECE
+    int getPieceIndex(int square);
+
+    long getPieceBitBoard(Alliance alliance,
+                          PieceType pieceType);
+
+    long getOccupancy(Alliance alliance);
+
+    long getOccupancy();
+
+    // pieces of the alliance attacking the tile if the position had the given occupancy
+    default long attackersOf(final int square,
+                             final Alliance alliance,
+                             final long occupancy) {
+        final long queens = getPieceBitBoard(alliance, PieceType.QUEEN);
+        final Alliance defender = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        return (AttackTables.pawnAttacks(defender, square) & getPieceBitBoard(alliance, PieceType.PAWN)) |
+               (AttackTables.knightAttacks(square) & getPieceBitBoard(alliance, PieceType.KNIGHT)) |
+               (AttackTables.kingAttacks(square) & getPieceBitBoard(alliance, PieceType.KING)) |
+               (MagicBitBoards.bishopAttacks(square, occupancy) & (getPieceBitBoard(alliance, PieceType.BISHOP) | queens)) |
+               (MagicBitBoards.rookAttacks(square, occupancy) & (getPieceBitBoard(alliance, PieceType.ROOK) | queens));
+    }
+
+}
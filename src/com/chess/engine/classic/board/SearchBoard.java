@@ -0,0 +1,435 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.pieces.King;
+import com.chess.engine.classic.pieces.Pawn;
+import com.chess.engine.classic.pieces.Piece;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+import com.chess.engine.classic.pieces.PieceUtils;
+
+/*
+ * Mutable position used by the search. Moves are made and taken back in place
+ * (makeMove / unmakeMove) instead of building a new Board per node; everything
+ * needed to take a move back is kept on a fixed size undo stack.
+ *
+ * Moves are PackedMove ints and are generated into a reusable MoveList.
+ */
+public final class SearchBoard implements SearchPosition {
+
+    private static final int MAX_GAME_LENGTH = 1024;
+
+    private final int[] mailbox;
+    private final long[] pieceBitBoards;
+    private final long[] occupancies;
+    private Alliance sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private int halfmoveClock;
+    private long zobristKey;
+    private final boolean[] castled;
+
+    private final int[] undoMoves;
+    private final int[] undoCapturedPieces;
+    private final int[] undoCastlingRights;
+    private final int[] undoEnPassantSquares;
+    private final int[] undoHalfmoveClocks;
+    private final boolean[] undoCastled;
+    private final long[] undoZobristKeys;
+    private int ply;
+
+    public SearchBoard(final Board board) {
+        this.mailbox = new int[BoardUtils.NUM_TILES];
+        this.pieceBitBoards = new long[BitBoards.NUM_PIECE_BIT_BOARDS];
+        this.occupancies = new long[2];
+        this.castled = new boolean[2];
+        this.undoMoves = new int[MAX_GAME_LENGTH];
+        this.undoCapturedPieces = new int[MAX_GAME_LENGTH];
+        this.undoCastlingRights = new int[MAX_GAME_LENGTH];
+        this.undoEnPassantSquares = new int[MAX_GAME_LENGTH];
+        this.undoHalfmoveClocks = new int[MAX_GAME_LENGTH];
+        this.undoCastled = new boolean[MAX_GAME_LENGTH];
+        this.undoZobristKeys = new long[MAX_GAME_LENGTH];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            this.mailbox[square] = NO_PIECE;
+        }
+        for (final Piece piece : board.getAllPieces()) {
+            addPiece(BitBoards.pieceIndex(piece.getPieceAllegiance(), piece.getPieceType()), piece.getPiecePosition());
+            if (piece.getPieceType().isKing() && ((King) piece).isCastled()) {
+                this.castled[piece.getPieceAllegiance().ordinal()] = true;
+            }
+        }
+        this.sideToMove = board.currentPlayer().getAlliance();
+        this.castlingRights = board.getCastlingRights();
+        this.enPassantSquare = board.getEnPassantSquare();
+        this.halfmoveClock = board.getHalfmoveClock();
+        this.zobristKey = board.getZobristKey();
+        this.ply = 0;
+    }
+
+    @Override
+    public Alliance getSideToMove() {
+        return this.sideToMove;
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    @Override
+    public int getHalfmoveClock() {
+        return this.halfmoveClock;
+    }
+
+    @Override
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    @Override
+    public int getPieceIndex(final int square) {
+        return this.mailbox[square];
+    }
+
+    @Override
+    public long getPieceBitBoard(final Alliance alliance,
+                                 final PieceType pieceType) {
+        return this.pieceBitBoards[BitBoards.pieceIndex(alliance, pieceType)];
+    }
+
+    @Override
+    public long getOccupancy(final Alliance alliance) {
+        return this.occupancies[alliance.ordinal()];
+    }
+
+    @Override
+    public long getOccupancy() {
+        return this.occupancies[0] | this.occupancies[1];
+    }
+
+    @Override
+    public boolean isInCheck() {
+        return isKingAttacked(this.sideToMove);
+    }
+
+    // true if the side that just moved left its own king attacked
+    private boolean leftKingInCheck() {
+        return isKingAttacked(opponent(this.sideToMove));
+    }
+
+    // look outwards from the tile for each kind of attacker
+    public boolean isSquareAttacked(final int square,
+                                    final Alliance attacker) {
+        final long occupancy = getOccupancy();
+        final long queens = getPieceBitBoard(attacker, PieceType.QUEEN);
+        return (AttackTables.pawnAttacks(opponent(attacker), square) & getPieceBitBoard(attacker, PieceType.PAWN)) != 0L ||
+               (AttackTables.knightAttacks(square) & getPieceBitBoard(attacker, PieceType.KNIGHT)) != 0L ||
+               (AttackTables.kingAttacks(square) & getPieceBitBoard(attacker, PieceType.KING)) != 0L ||
+               (MagicBitBoards.bishopAttacks(square, occupancy) & (getPieceBitBoard(attacker, PieceType.BISHOP) | queens)) != 0L ||
+               (MagicBitBoards.rookAttacks(square, occupancy) & (getPieceBitBoard(attacker, PieceType.ROOK) | queens)) != 0L;
+    }
+
+    // every pseudo legal move of the side to move
+    @Override
+    public void generateMoves(final MoveList moves) {
+        final Alliance us = this.sideToMove;
+        final Alliance them = opponent(us);
+        final long own = getOccupancy(us);
+        final long enemy = getOccupancy(them);
+        final long occupancy = own | enemy;
+        generatePawnMoves(moves, us, enemy, occupancy);
+        long knights = getPieceBitBoard(us, PieceType.KNIGHT);
+        while (knights != 0L) {
+            final int from = BitBoards.firstSquare(knights);
+            addMoves(moves, from, AttackTables.knightAttacks(from) & ~own, enemy);
+            knights = BitBoards.popFirstSquare(knights);
+        }
+        long diagonals = getPieceBitBoard(us, PieceType.BISHOP) | getPieceBitBoard(us, PieceType.QUEEN);
+        while (diagonals != 0L) {
+            final int from = BitBoards.firstSquare(diagonals);
+            addMoves(moves, from, MagicBitBoards.bishopAttacks(from, occupancy) & ~own, enemy);
+            diagonals = BitBoards.popFirstSquare(diagonals);
+        }
+        long orthogonals = getPieceBitBoard(us, PieceType.ROOK) | getPieceBitBoard(us, PieceType.QUEEN);
+        while (orthogonals != 0L) {
+            final int from = BitBoards.firstSquare(orthogonals);
+            addMoves(moves, from, MagicBitBoards.rookAttacks(from, occupancy) & ~own, enemy);
+            orthogonals = BitBoards.popFirstSquare(orthogonals);
+        }
+        final long king = getPieceBitBoard(us, PieceType.KING);
+        if (king != 0L) {
+            final int from = BitBoards.firstSquare(king);
+            addMoves(moves, from, AttackTables.kingAttacks(from) & ~own, enemy);
+            generateCastles(moves, us, occupancy);
+        }
+    }
+
+    // the move is made first and taken back again if it left the king in check
+    @Override
+    public boolean makeMove(final int move) {
+        final int from = PackedMove.from(move);
+        final int to = PackedMove.to(move);
+        final int movedPiece = this.mailbox[from];
+        int capturedPiece = NO_PIECE;
+        saveUndoState(move);
+        if (PackedMove.isEnPassant(move)) {
+            final int capturedSquare = to - (this.sideToMove.getDirection() * 8);
+            capturedPiece = this.mailbox[capturedSquare];
+            removePiece(capturedPiece, capturedSquare);
+        } else if (PackedMove.isCapture(move)) {
+            capturedPiece = this.mailbox[to];
+            removePiece(capturedPiece, to);
+        }
+        this.undoCapturedPieces[this.ply] = capturedPiece;
+        removePiece(movedPiece, from);
+        final PieceType promotion = PackedMove.promotionType(move);
+        addPiece(promotion == null ? movedPiece : BitBoards.pieceIndex(this.sideToMove, promotion), to);
+        if (PackedMove.isCastle(move)) {
+            moveCastleRook(from, to, false);
+        }
+        // like the Board's kings, castled only until the king moves again
+        if (BitBoards.pieceType(movedPiece).isKing()) {
+            this.castled[this.sideToMove.ordinal()] = PackedMove.isCastle(move);
+        }
+        this.halfmoveClock = capturedPiece != NO_PIECE || BitBoards.pieceType(movedPiece).isPawn() ?
+                0 : this.halfmoveClock + 1;
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantSquare);
+        this.castlingRights &= Board.castlingRightsMask(from) & Board.castlingRightsMask(to);
+        this.enPassantSquare = PackedMove.isDoublePawnPush(move) ? (from + to) / 2 : Board.NO_SQUARE;
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantSquare);
+        this.zobristKey ^= Zobrist.blackToMoveKey();
+        this.sideToMove = opponent(this.sideToMove);
+        this.ply++;
+        if (leftKingInCheck()) {
+            unmakeMove();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void makeNullMove() {
+        saveUndoState(PackedMove.NULL_MOVE);
+        this.zobristKey ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.blackToMoveKey();
+        this.enPassantSquare = Board.NO_SQUARE;
+        this.halfmoveClock++;
+        this.sideToMove = opponent(this.sideToMove);
+        this.ply++;
+    }
+
+    @Override
+    public void unmakeMove() {
+        this.ply--;
+        this.sideToMove = opponent(this.sideToMove);
+        final int move = this.undoMoves[this.ply];
+        if (move == PackedMove.NULL_MOVE) {
+            restoreUndoState();
+            return;
+        }
+        final int from = PackedMove.from(move);
+        final int to = PackedMove.to(move);
+        final int capturedPiece = this.undoCapturedPieces[this.ply];
+        final int movedPiece = PackedMove.isPromotion(move) ?
+                BitBoards.pieceIndex(this.sideToMove, PieceType.PAWN) : this.mailbox[to];
+        removePiece(this.mailbox[to], to);
+        addPiece(movedPiece, from);
+        if (PackedMove.isCastle(move)) {
+            moveCastleRook(from, to, true);
+        }
+        if (capturedPiece != NO_PIECE) {
+            addPiece(capturedPiece, PackedMove.isEnPassant(move) ? to - (this.sideToMove.getDirection() * 8) : to);
+        }
+        restoreUndoState();
+    }
+
+    // the pieces with the first move and castle capable flags the Board works the same castling rights out of
+    @Override
+    public Board toBoard() {
+        final Board.Builder builder = new Board.Builder();
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            if (this.mailbox[square] != NO_PIECE) {
+                builder.setPiece(createPiece(this.mailbox[square], square));
+            }
+        }
+        builder.setMoveMaker(this.sideToMove);
+        if (this.enPassantSquare != Board.NO_SQUARE) {
+            final Alliance jumpedAlliance = opponent(this.sideToMove);
+            builder.setEnPassantPawn((Pawn) PieceUtils.INSTANCE.getPiece(jumpedAlliance, PieceType.PAWN,
+                    this.enPassantSquare + (jumpedAlliance.getDirection() * 8), false));
+        }
+        builder.setHalfmoveClock(this.halfmoveClock);
+        builder.setZobristKey(this.zobristKey);
+        return builder.build();
+    }
+
+    private Piece createPiece(final int pieceIndex,
+                              final int square) {
+        final Alliance alliance = BitBoards.pieceAlliance(pieceIndex);
+        final PieceType pieceType = BitBoards.pieceType(pieceIndex);
+        final int allianceRights = alliance.isWhite() ?
+                Board.WHITE_KING_SIDE | Board.WHITE_QUEEN_SIDE : Board.BLACK_KING_SIDE | Board.BLACK_QUEEN_SIDE;
+        // the rights a move from this tile would take away, if the side still has them
+        final int tileRights = this.castlingRights & allianceRights & ~Board.castlingRightsMask(square);
+        switch (pieceType) {
+            case PAWN:
+                final int startRow = alliance.isWhite() ? 6 : 1;
+                return PieceUtils.INSTANCE.getPiece(alliance, pieceType, square,
+                        square / BoardUtils.NUM_TILES_PER_ROW == startRow);
+            case ROOK:
+                return PieceUtils.INSTANCE.getPiece(alliance, pieceType, square, tileRights != 0);
+            case KING:
+                final boolean kingSide = (tileRights & (Board.WHITE_KING_SIDE | Board.BLACK_KING_SIDE)) != 0;
+                final boolean queenSide = (tileRights & (Board.WHITE_QUEEN_SIDE | Board.BLACK_QUEEN_SIDE)) != 0;
+                return PieceUtils.INSTANCE.getKing(alliance, square, kingSide || queenSide,
+                        this.castled[alliance.ordinal()], kingSide, queenSide);
+            default:
+                return PieceUtils.INSTANCE.getPiece(alliance, pieceType, square, true);
+        }
+    }
+
+    private void saveUndoState(final int move) {
+        this.undoMoves[this.ply] = move;
+        this.undoCastlingRights[this.ply] = this.castlingRights;
+        this.undoEnPassantSquares[this.ply] = this.enPassantSquare;
+        this.undoHalfmoveClocks[this.ply] = this.halfmoveClock;
+        this.undoCastled[this.ply] = this.castled[this.sideToMove.ordinal()];
+        this.undoZobristKeys[this.ply] = this.zobristKey;
+    }
+
+    private void restoreUndoState() {
+        this.castlingRights = this.undoCastlingRights[this.ply];
+        this.enPassantSquare = this.undoEnPassantSquares[this.ply];
+        this.halfmoveClock = this.undoHalfmoveClocks[this.ply];
+        this.castled[this.sideToMove.ordinal()] = this.undoCastled[this.ply];
+        this.zobristKey = this.undoZobristKeys[this.ply];
+    }
+
+    private void generatePawnMoves(final MoveList moves,
+                                   final Alliance us,
+                                   final long enemy,
+                                   final long occupancy) {
+        final int direction = us.getDirection() * 8;
+        final int startRow = us.isWhite() ? 6 : 1;
+        long pawns = getPieceBitBoard(us, PieceType.PAWN);
+        while (pawns != 0L) {
+            final int from = BitBoards.firstSquare(pawns);
+            final int forward = from + direction;
+            if (!BitBoards.isSet(occupancy, forward)) {
+                addPawnMove(moves, us, from, forward, false);
+                final int jump = forward + direction;
+                if (from / BoardUtils.NUM_TILES_PER_ROW == startRow && !BitBoards.isSet(occupancy, jump)) {
+                    moves.add(PackedMove.encode(from, jump, PackedMove.DOUBLE_PAWN_PUSH));
+                }
+            }
+            long captures = AttackTables.pawnAttacks(us, from) & enemy;
+            while (captures != 0L) {
+                addPawnMove(moves, us, from, BitBoards.firstSquare(captures), true);
+                captures = BitBoards.popFirstSquare(captures);
+            }
+            if (this.enPassantSquare != Board.NO_SQUARE &&
+                BitBoards.isSet(AttackTables.pawnAttacks(us, from), this.enPassantSquare)) {
+                moves.add(PackedMove.encode(from, this.enPassantSquare, PackedMove.EN_PASSANT));
+            }
+            pawns = BitBoards.popFirstSquare(pawns);
+        }
+    }
+
+    private static void addPawnMove(final MoveList moves,
+                                    final Alliance us,
+                                    final int from,
+                                    final int to,
+                                    final boolean isCapture) {
+        if (us.isPawnPromotionSquare(to)) {
+            moves.add(PackedMove.encode(from, to, PackedMove.promotionFlags(PieceType.QUEEN, isCapture)));
+            moves.add(PackedMove.encode(from, to, PackedMove.promotionFlags(PieceType.ROOK, isCapture)));
+            moves.add(PackedMove.encode(from, to, PackedMove.promotionFlags(PieceType.BISHOP, isCapture)));
+            moves.add(PackedMove.encode(from, to, PackedMove.promotionFlags(PieceType.KNIGHT, isCapture)));
+        } else {
+            moves.add(PackedMove.encode(from, to, isCapture ? PackedMove.CAPTURE : PackedMove.QUIET));
+        }
+    }
+
+    private static void addMoves(final MoveList moves,
+                                 final int from,
+                                 final long destinations,
+                                 final long enemy) {
+        long remaining = destinations;
+        while (remaining != 0L) {
+            final int to = BitBoards.firstSquare(remaining);
+            moves.add(PackedMove.encode(from, to, BitBoards.isSet(enemy, to) ? PackedMove.CAPTURE : PackedMove.QUIET));
+            remaining = BitBoards.popFirstSquare(remaining);
+        }
+    }
+
+    // same rules as the players' castle calculation
+    private void generateCastles(final MoveList moves,
+                                 final Alliance us,
+                                 final long occupancy) {
+        final boolean white = us.isWhite();
+        final int kingSide = white ? Board.WHITE_KING_SIDE : Board.BLACK_KING_SIDE;
+        final int queenSide = white ? Board.WHITE_QUEEN_SIDE : Board.BLACK_QUEEN_SIDE;
+        if ((this.castlingRights & (kingSide | queenSide)) == 0) {
+            return;
+        }
+        final int kingSquare = white ? 60 : 4;
+        final Alliance them = opponent(us);
+        if (isSquareAttacked(kingSquare, them)) {
+            return;
+        }
+        if ((this.castlingRights & kingSide) != 0 &&
+            (occupancy & (BitBoards.squareMask(kingSquare + 1) | BitBoards.squareMask(kingSquare + 2))) == 0L &&
+            !isSquareAttacked(kingSquare + 1, them) && !isSquareAttacked(kingSquare + 2, them)) {
+            moves.add(PackedMove.encode(kingSquare, kingSquare + 2, PackedMove.KING_CASTLE));
+        }
+        if ((this.castlingRights & queenSide) != 0 &&
+            (occupancy & (BitBoards.squareMask(kingSquare - 1) | BitBoards.squareMask(kingSquare - 2) |
+                          BitBoards.squareMask(kingSquare - 3))) == 0L &&
+            !isSquareAttacked(kingSquare - 1, them) && !isSquareAttacked(kingSquare - 2, them)) {
+            moves.add(PackedMove.encode(kingSquare, kingSquare - 2, PackedMove.QUEEN_CASTLE));
+        }
+    }
+
+    private void moveCastleRook(final int kingFrom,
+                                final int kingTo,
+                                final boolean undo) {
+        final boolean kingSide = kingTo > kingFrom;
+        final int rookCorner = kingSide ? kingFrom + 3 : kingFrom - 4;
+        final int rookCastled = kingSide ? kingFrom + 1 : kingFrom - 1;
+        final int rookFrom = undo ? rookCastled : rookCorner;
+        final int rookTo = undo ? rookCorner : rookCastled;
+        final int rook = this.mailbox[rookFrom];
+        removePiece(rook, rookFrom);
+        addPiece(rook, rookTo);
+    }
+
+    private boolean isKingAttacked(final Alliance alliance) {
+        final long king = getPieceBitBoard(alliance, PieceType.KING);
+        return king != 0L && isSquareAttacked(BitBoards.firstSquare(king), opponent(alliance));
+    }
+
+    private void addPiece(final int pieceIndex,
+                          final int square) {
+        final long mask = BitBoards.squareMask(square);
+        this.mailbox[square] = pieceIndex;
+        this.pieceBitBoards[pieceIndex] |= mask;
+        this.occupancies[BitBoards.pieceAlliance(pieceIndex).ordinal()] |= mask;
+        this.zobristKey ^= Zobrist.pieceKey(pieceIndex, square);
+    }
+
+    private void removePiece(final int pieceIndex,
+                             final int square) {
+        final long mask = BitBoards.squareMask(square);
+        this.mailbox[square] = NO_PIECE;
+        this.pieceBitBoards[pieceIndex] &= ~mask;
+        this.occupancies[BitBoards.pieceAlliance(pieceIndex).ordinal()] &= ~mask;
+        this.zobristKey ^= Zobrist.pieceKey(pieceIndex, square);
+    }
+
+    private static Alliance opponent(final Alliance alliance) {
+        return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+
+}
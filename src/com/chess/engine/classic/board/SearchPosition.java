@@ -0,0 +1,33 @@
+package com.chess.engine.classic.board;
+
+/*
+ * A position the search walks by making a packed move (see PackedMove) and
+ * taking it back again. The search keeps a single instance for the whole
+ * tree: either a stack of Boards (BoardStack) or a SearchBoard changed in
+ * place.
+ */
+public interface SearchPosition extends Position {
+
+    long getZobristKey();
+
+    // plies since the last capture or pawn move
+    int getHalfmoveClock();
+
+    boolean isInCheck();
+
+    // append the moves of the side to move; some may still leave the king in check, which makeMove rejects
+    void generateMoves(MoveList moves);
+
+    // false, leaving the position as it was, if the move is not legal here
+    boolean makeMove(int move);
+
+    // the other side to move and no en passant tile, for null move pruning
+    void makeNullMove();
+
+    // take back the last move or null move
+    void unmakeMove();
+
+    // the current position as a Board, for the evaluator
+    Board toBoard();
+
+}
@@ -0,0 +1,59 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.pieces.Piece;
+
+import java.util.Random;
+
+public enum Zobrist {
+
+    INSTANCE;
+
+    private static final long ZOBRIST_SEED = 0x2C0FFEE5EEDL;
+
+    private static final long[][] PIECE_KEYS = new long[BitBoards.NUM_PIECE_BIT_BOARDS][BoardUtils.NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        final Random random = new Random(ZOBRIST_SEED);
+        for (final long[] pieceKeys : PIECE_KEYS) {
+            for (int square = 0; square < pieceKeys.length; square++) {
+                pieceKeys[square] = random.nextLong();
+            }
+        }
+        for (int rights = 0; rights < CASTLING_KEYS.length; rights++) {
+            CASTLING_KEYS[rights] = random.nextLong();
+        }
+        for (int square = 0; square < EN_PASSANT_KEYS.length; square++) {
+            EN_PASSANT_KEYS[square] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    // key of a piece (BitBoards.pieceIndex) standing on a tile
+    public static long pieceKey(final int pieceIndex,
+                                final int square) {
+        return PIECE_KEYS[pieceIndex][square];
+    }
+
+    public static long pieceKey(final Piece piece,
+                                final int square) {
+        return PIECE_KEYS[BitBoards.pieceIndex(piece.getPieceAllegiance(), piece.getPieceType())][square];
+    }
+
+    // key of a castling rights bit set (see Board castling constants)
+    public static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    // key of the tile a pawn may be captured en passant on
+    public static long enPassantKey(final int square) {
+        return square == Board.NO_SQUARE ? 0L : EN_PASSANT_KEYS[square];
+    }
+
+    public static long blackToMoveKey() {
+        return BLACK_TO_MOVE_KEY;
+    }
+
+}
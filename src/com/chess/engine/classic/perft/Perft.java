@@ -0,0 +1,138 @@
+package com.chess.engine.classic.perft;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.FenUtilities;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.MoveTransition;
+import com.chess.engine.classic.board.PackedMove;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Counts the leaf nodes of the legal move tree to a fixed depth through the
+ * same Player.makeMove / MoveTransition path the game and the strategies use.
+ *
+ *   Perft                        run the PerftPosition suite to depth 3
+ *   Perft suite <depth>          run the suite to the given depth
+ *   Perft perft <depth> [fen]    count one position (standard board by default)
+ *   Perft divide <depth> [fen]   count per root move, to find where a generator goes wrong
+ */
+public final class Perft {
+
+    private static final int DEFAULT_SUITE_DEPTH = 3;
+
+    private final boolean bulkCounting;
+
+    public Perft() {
+        this(true);
+    }
+
+    // bulkCounting counts the legal moves at depth 1 instead of recursing into each child
+    public Perft(final boolean bulkCounting) {
+        this.bulkCounting = bulkCounting;
+    }
+
+    public long perft(final Board board,
+                      final int depth) {
+        if (depth == 0) {
+            return 1L;
+        }
+        if (depth == 1 && this.bulkCounting) {
+            return countLegalMoves(board);
+        }
+        long nodes = 0L;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (moveTransition.getMoveStatus().isDone()) {
+                nodes += perft(moveTransition.getToBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    // node count below each legal root move, in generation order
+    public Map<Move, Long> divide(final Board board,
+                                  final int depth) {
+        final Map<Move, Long> divide = new LinkedHashMap<>();
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (moveTransition.getMoveStatus().isDone()) {
+                divide.put(move, perft(moveTransition.getToBoard(), depth - 1));
+            }
+        }
+        return divide;
+    }
+
+    // the players' move lists are strictly legal, so the frontier is just their size
+    private static long countLegalMoves(final Board board) {
+        return board.currentPlayer().getLegalMoves().size();
+    }
+
+    // true if every position of the suite matches its published count up to maxDepth
+    public boolean runSuite(final int maxDepth) {
+        boolean passed = true;
+        long totalNodes = 0L;
+        long totalTime = 0L;
+        for (final PerftPosition position : PerftPosition.values()) {
+            final Board board = position.createBoard();
+            for (int depth = 1; depth <= Math.min(maxDepth, position.getMaxDepth()); depth++) {
+                final long startTime = System.nanoTime();
+                final long nodes = perft(board, depth);
+                final long elapsedTime = System.nanoTime() - startTime;
+                final boolean matches = nodes == position.getExpectedNodes(depth);
+                passed &= matches;
+                totalNodes += nodes;
+                totalTime += elapsedTime;
+                System.out.printf("%-18s depth %d nodes %10d expected %10d %-6s %8d ms %12.0f nodes/s\n",
+                        position, depth, nodes, position.getExpectedNodes(depth), matches ? "OK" : "FAILED",
+                        elapsedTime / 1000000, nodesPerSecond(nodes, elapsedTime));
+            }
+        }
+        System.out.printf("%s: %d nodes in %d ms, %.0f nodes/s\n", passed ? "PASSED" : "FAILED",
+                totalNodes, totalTime / 1000000, nodesPerSecond(totalNodes, totalTime));
+        return passed;
+    }
+
+    private static double nodesPerSecond(final long nodes,
+                                         final long nanos) {
+        return nanos == 0L ? 0 : nodes * 1.0e9 / nanos;
+    }
+
+    public static void main(final String[] args) {
+        final String mode = args.length > 0 ? args[0] : "suite";
+        final int depth = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SUITE_DEPTH;
+        final Board board = args.length > 2 ?
+                FenUtilities.createGameFromFEN(String.join(" ", Arrays.copyOfRange(args, 2, args.length))) :
+                Board.createStandardBoard();
+        final Perft perft = new Perft();
+        switch (mode) {
+            case "suite":
+                if (!perft.runSuite(depth)) {
+                    System.exit(1);
+                }
+                break;
+            case "perft": {
+                final long startTime = System.nanoTime();
+                final long nodes = perft.perft(board, depth);
+                final long elapsedTime = System.nanoTime() - startTime;
+                System.out.printf("perft(%d) = %d in %d ms, %.0f nodes/s\n", depth, nodes, elapsedTime / 1000000,
+                        nodesPerSecond(nodes, elapsedTime));
+                break;
+            }
+            case "divide": {
+                long nodes = 0L;
+                for (final Map.Entry<Move, Long> entry : perft.divide(board, depth).entrySet()) {
+                    System.out.println(PackedMove.toString(PackedMove.fromMove(entry.getKey())) + ": " + entry.getValue());
+                    nodes += entry.getValue();
+                }
+                System.out.println("total: " + nodes);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("unknown perft mode: " + mode);
+        }
+    }
+
+}
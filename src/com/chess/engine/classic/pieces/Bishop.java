@@ -2,20 +2,13 @@ package com.chess.engine.classic.pieces;
 
 import com.chess.engine.classic.Alliance;
 import com.chess.engine.classic.board.Board;
-import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.MagicBitBoards;
 import com.chess.engine.classic.board.Move;
-import com.chess.engine.classic.board.Move.MajorAttackMove;
-import com.chess.engine.classic.board.Move.MajorMove;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 public final class Bishop extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = {-9, -7, 7, 9};
-
     //CONSTRACTOR IN FIRST USE
     public Bishop(final Alliance alliance,
                   final int piecePosition) {
@@ -32,32 +25,7 @@ public final class Bishop extends Piece {
     //CHECK THE MOVES THAT I CAN MOVE IN
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-            int candidateDestinationCoordinate = this.piecePosition;
-            while (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                if (isFirstColumnExclusion(currentCandidateOffset, candidateDestinationCoordinate) ||
-                        isEighthColumnExclusion(currentCandidateOffset, candidateDestinationCoordinate)) {
-                    break;
-                }
-                candidateDestinationCoordinate += currentCandidateOffset;
-                if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                    final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
-                    if (pieceAtDestination == null) {
-                        legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                    }
-                    else {
-                        final Alliance pieceAlliance = pieceAtDestination.getPieceAllegiance();
-                        if (this.pieceAlliance != pieceAlliance) {
-                            legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
-                                    pieceAtDestination));
-                        }
-                        break;
-                    }
-                }
-            }
-        }
-        return ImmutableList.copyOf(legalMoves);
+        return calculateMovesFromAttacks(board, MagicBitBoards.bishopAttacks(this.piecePosition, board.getOccupancy()));
     }
 
     // AI
@@ -78,18 +46,4 @@ public final class Bishop extends Piece {
         return this.pieceType.toString();
     }
 
-    // CHECK IF BISHOP IN FIRST COLUMN AND THE MOVE IS -9 oR 7
-    private static boolean isFirstColumnExclusion(final int currentCandidate,
-                                                  final int candidateDestinationCoordinate) {
-        return (BoardUtils.INSTANCE.FIRST_COLUMN.get(candidateDestinationCoordinate) &&
-                ((currentCandidate == -9) || (currentCandidate == 7)));
-    }
-
-    // CHECK IF BISHOP IN EIGHTH COLUMN AND THE MOVE IS -7 OR 9
-    private static boolean isEighthColumnExclusion(final int currentCandidate,
-                                                   final int candidateDestinationCoordinate) {
-        return BoardUtils.INSTANCE.EIGHTH_COLUMN.get(candidateDestinationCoordinate) &&
-                ((currentCandidate == -7) || (currentCandidate == 9));
-    }
-
 }
\ No newline at end of file
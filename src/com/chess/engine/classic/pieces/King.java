@@ -2,19 +2,13 @@ package com.chess.engine.classic.pieces;
 
 import com.chess.engine.classic.Alliance;
 import com.chess.engine.classic.board.Board;
-import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.AttackTables;
 import com.chess.engine.classic.board.Move;
-import com.chess.engine.classic.board.Move.MajorAttackMove;
-import com.chess.engine.classic.board.Move.MajorMove;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 public final class King extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = { -9, -8, -7, -1, 1, 7, 8, 9 };
     private final boolean isCastled;
     private final boolean kingSideCastleCapable;
     private final boolean queenSideCastleCapable;
@@ -62,27 +56,7 @@ public final class King extends Piece {
     //CHECK THE MOVES THAT I CAN MOVE IN
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-            if (isFirstColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-                    isEighthColumnExclusion(this.piecePosition, currentCandidateOffset)) {
-                continue;
-            }
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-            if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
-                if (pieceAtDestination == null) {
-                    legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                } else {
-                    final Alliance pieceAtDestinationAllegiance = pieceAtDestination.getPieceAllegiance();
-                    if (this.pieceAlliance != pieceAtDestinationAllegiance) {
-                        legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
-                                pieceAtDestination));
-                    }
-                }
-            }
-        }
-        return ImmutableList.copyOf(legalMoves);
+        return calculateMovesFromAttacks(board, AttackTables.kingAttacks(this.piecePosition));
     }
 
     //TO RETURN THE PIECE TYPE IN STRING
@@ -99,7 +73,7 @@ public final class King extends Piece {
 
     @Override
     public King movePiece(final Move move) {
-        return new King(this.pieceAlliance, move.getDestinationCoordinate(), false, move.isCastlingMove(), false, false);
+        return PieceUtils.INSTANCE.getMovedKing(this.pieceAlliance, move.getDestinationCoordinate(), move.isCastlingMove());
     }
 
     // OVERRIDE ABOUT EQUALS TO COMPARE BETWEEN KING PIECE AND OTHER PIECE
@@ -123,20 +97,4 @@ public final class King extends Piece {
     public int hashCode() {
         return (31 * super.hashCode()) + (isCastled ? 1 : 0);
     }
-
-    // CHECK IF KING IN FIRST COLUMN AND ITS MOVE IS -9 OR -1 OR 7
-    private static boolean isFirstColumnExclusion(final int currentCandidate,
-                                                  final int candidateDestinationCoordinate) {
-        return BoardUtils.INSTANCE.FIRST_COLUMN.get(currentCandidate)
-                && ((candidateDestinationCoordinate == -9) || (candidateDestinationCoordinate == -1) ||
-                (candidateDestinationCoordinate == 7));
-    }
-
-    // CHECK IF KING IN EIGHT COLUMN AND ITS MOVE IS -7 OR 1 OR 9
-    private static boolean isEighthColumnExclusion(final int currentCandidate,
-                                                   final int candidateDestinationCoordinate) {
-        return BoardUtils.INSTANCE.EIGHTH_COLUMN.get(currentCandidate)
-                && ((candidateDestinationCoordinate == -7) || (candidateDestinationCoordinate == 1) ||
-                (candidateDestinationCoordinate == 9));
-    }
 }
\ No newline at end of file
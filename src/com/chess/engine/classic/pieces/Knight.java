@@ -2,20 +2,13 @@ package com.chess.engine.classic.pieces;
 
 import com.chess.engine.classic.Alliance;
 import com.chess.engine.classic.board.Board;
-import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.AttackTables;
 import com.chess.engine.classic.board.Move;
-import com.chess.engine.classic.board.Move.MajorAttackMove;
-import com.chess.engine.classic.board.Move.MajorMove;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 public final class Knight extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = { -17, -15, -10, -6, 6, 10, 15, 17 };
-
     //CONSTRACTOR IN FIRST CALL
     public Knight(final Alliance alliance,
                   final int piecePosition) {
@@ -32,29 +25,7 @@ public final class Knight extends Piece {
     //CHECK THE MOVES THAT I CAN MOVE IN
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-            if(isFirstColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-                    isSecondColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-                    isSeventhColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-                    isEighthColumnExclusion(this.piecePosition, currentCandidateOffset)) {
-                continue;
-            }
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-            if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
-                if (pieceAtDestination == null) {
-                    legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                } else {
-                    final Alliance pieceAtDestinationAllegiance = pieceAtDestination.getPieceAllegiance();
-                    if (this.pieceAlliance != pieceAtDestinationAllegiance) {
-                        legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
-                                pieceAtDestination));
-                    }
-                }
-            }
-        }
-        return ImmutableList.copyOf(legalMoves);
+        return calculateMovesFromAttacks(board, AttackTables.knightAttacks(this.piecePosition));
     }
 
     //AI
@@ -74,29 +45,4 @@ public final class Knight extends Piece {
         return this.pieceType.toString();
     }
 
-    // CHECK IF KNIGHT IN FIRST COLUMN AND ITS MOVE IS -10 OR 6 OR 15 OR -17
-    private static boolean isFirstColumnExclusion(final int currentPosition,
-                                                  final int candidateOffset) {
-        return BoardUtils.INSTANCE.FIRST_COLUMN.get(currentPosition) && ((candidateOffset == -17) ||
-                (candidateOffset == -10) || (candidateOffset == 6) || (candidateOffset == 15));
-    }
-    //CHECK IF KNIGHT IN SECOND COLUMN AND ITS MOVE -1 OR 6
-    private static boolean isSecondColumnExclusion(final int currentPosition,
-                                                   final int candidateOffset) {
-        return BoardUtils.INSTANCE.SECOND_COLUMN.get(currentPosition) && ((candidateOffset == -10) || (candidateOffset == 6));
-    }
-
-    //CHECK IF KNIGHT IN SEVEN COLUMN AND ITS MOVE 10 OR -6
-    private static boolean isSeventhColumnExclusion(final int currentPosition,
-                                                    final int candidateOffset) {
-        return BoardUtils.INSTANCE.SEVENTH_COLUMN.get(currentPosition) && ((candidateOffset == -6) || (candidateOffset == 10));
-    }
-
-    //CHECK IF KNIGHT IN EIGHT COLUMN AND ITS MOVE -15 OR 17 OR -6 OR 10
-    private static boolean isEighthColumnExclusion(final int currentPosition,
-                                                   final int candidateOffset) {
-        return BoardUtils.INSTANCE.EIGHTH_COLUMN.get(currentPosition) && ((candidateOffset == -15) || (candidateOffset == -6) ||
-                (candidateOffset == 10) || (candidateOffset == 17));
-    }
-
 }
\ No newline at end of file
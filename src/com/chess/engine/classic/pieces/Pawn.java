@@ -1,6 +1,7 @@
 package com.chess.engine.classic.pieces;
 
 import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.board.AttackTables;
 import com.chess.engine.classic.board.Board;
 import com.chess.engine.classic.board.BoardUtils;
 import com.chess.engine.classic.board.Move;
@@ -14,8 +15,6 @@ import java.util.List;
 public final class Pawn
         extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = {8, 16, 7, 9};
-
     //CONSTRACTOR IN FIRST USE
     public Pawn(final Alliance allegiance,
                 final int piecePosition) {
@@ -39,108 +38,60 @@ public final class Pawn
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-            int candidateDestinationCoordinate =
-                    this.piecePosition + (this.pieceAlliance.getDirection() * currentCandidateOffset);
-            if (!BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                continue;
+        final int forwardCoordinate = this.piecePosition + (this.pieceAlliance.getDirection() * 8);
+        if (BoardUtils.isValidTileCoordinate(forwardCoordinate) && !board.isTileOccupied(forwardCoordinate)) {
+            if (this.pieceAlliance.isPawnPromotionSquare(forwardCoordinate)) {
+                addPromotions(legalMoves, new PawnMove(board, this, forwardCoordinate));
             }
-            if (currentCandidateOffset == 8 && board.getPiece(candidateDestinationCoordinate) == null) {
-                if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-                    legalMoves.add(new PawnPromotion(
-                            new PawnMove(board, this, candidateDestinationCoordinate), PieceUtils.INSTANCE.getMovedQueen(this.pieceAlliance, candidateDestinationCoordinate)));
-                    legalMoves.add(new PawnPromotion(
-                            new PawnMove(board, this, candidateDestinationCoordinate), PieceUtils.INSTANCE.getMovedRook(this.pieceAlliance, candidateDestinationCoordinate)));
-                    legalMoves.add(new PawnPromotion(
-                            new PawnMove(board, this, candidateDestinationCoordinate), PieceUtils.INSTANCE.getMovedBishop(this.pieceAlliance, candidateDestinationCoordinate)));
-                    legalMoves.add(new PawnPromotion(
-                            new PawnMove(board, this, candidateDestinationCoordinate), PieceUtils.INSTANCE.getMovedKnight(this.pieceAlliance, candidateDestinationCoordinate)));
-                }
-                else {
-                    legalMoves.add(new PawnMove(board, this, candidateDestinationCoordinate));
-                }
+            else {
+                legalMoves.add(new PawnMove(board, this, forwardCoordinate));
             }
-            else if (currentCandidateOffset == 16 && this.isFirstMove() &&
+            final int jumpCoordinate = this.piecePosition + (this.pieceAlliance.getDirection() * 16);
+            if (this.isFirstMove() &&
                     ((BoardUtils.INSTANCE.SECOND_ROW.get(this.piecePosition) && this.pieceAlliance.isBlack()) ||
-                            (BoardUtils.INSTANCE.SEVENTH_ROW.get(this.piecePosition) && this.pieceAlliance.isWhite()))) {
-                final int behindCandidateDestinationCoordinate =
-                        this.piecePosition + (this.pieceAlliance.getDirection() * 8);
-                if (board.getPiece(candidateDestinationCoordinate) == null &&
-                        board.getPiece(behindCandidateDestinationCoordinate) == null) {
-                    legalMoves.add(new PawnJump(board, this, candidateDestinationCoordinate));
-                }
+                            (BoardUtils.INSTANCE.SEVENTH_ROW.get(this.piecePosition) && this.pieceAlliance.isWhite())) &&
+                    !board.isTileOccupied(jumpCoordinate)) {
+                legalMoves.add(new PawnJump(board, this, jumpCoordinate));
             }
-            else if (currentCandidateOffset == 7 &&
-                    !((BoardUtils.INSTANCE.EIGHTH_COLUMN.get(this.piecePosition) && this.pieceAlliance.isWhite()) ||
-                            (BoardUtils.INSTANCE.FIRST_COLUMN.get(this.piecePosition) && this.pieceAlliance.isBlack()))) {
-                if(board.getPiece(candidateDestinationCoordinate) != null) {
-                    final Piece pieceOnCandidate = board.getPiece(candidateDestinationCoordinate);
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAllegiance()) {
-                        if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), PieceUtils.INSTANCE.getMovedQueen(this.pieceAlliance, candidateDestinationCoordinate)));
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), PieceUtils.INSTANCE.getMovedRook(this.pieceAlliance, candidateDestinationCoordinate)));
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), PieceUtils.INSTANCE.getMovedBishop(this.pieceAlliance, candidateDestinationCoordinate)));
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), PieceUtils.INSTANCE.getMovedKnight(this.pieceAlliance, candidateDestinationCoordinate)));
-                        }
-                        else {
-                            legalMoves.add(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-                        }
+        }
+        for (final int candidateDestinationCoordinate :
+                AttackTables.pawnAttackDestinations(this.pieceAlliance, this.piecePosition)) {
+            final Piece pieceOnCandidate = board.getPiece(candidateDestinationCoordinate);
+            if (pieceOnCandidate != null) {
+                if (this.pieceAlliance != pieceOnCandidate.getPieceAllegiance()) {
+                    if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
+                        addPromotions(legalMoves,
+                                new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
                     }
-                } else if (board.getEnPassantPawn() != null && board.getEnPassantPawn().getPiecePosition() ==
-                        (this.piecePosition + (this.pieceAlliance.getOppositeDirection()))) {
-                    final Piece pieceOnCandidate = board.getEnPassantPawn();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAllegiance()) {
+                    else {
                         legalMoves.add(
-                                new PawnEnPassantAttack(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-
+                                new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
                     }
                 }
-            }
-            else if (currentCandidateOffset == 9 &&
-                    !((BoardUtils.INSTANCE.FIRST_COLUMN.get(this.piecePosition) && this.pieceAlliance.isWhite()) ||
-                            (BoardUtils.INSTANCE.EIGHTH_COLUMN.get(this.piecePosition) && this.pieceAlliance.isBlack()))) {
-                if(board.getPiece(candidateDestinationCoordinate) != null) {
-                    if (this.pieceAlliance !=
-                            board.getPiece(candidateDestinationCoordinate).getPieceAllegiance()) {
-                        if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate,
-                                            board.getPiece(candidateDestinationCoordinate)), PieceUtils.INSTANCE.getMovedQueen(this.pieceAlliance, candidateDestinationCoordinate)));
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate,
-                                            board.getPiece(candidateDestinationCoordinate)), PieceUtils.INSTANCE.getMovedRook(this.pieceAlliance, candidateDestinationCoordinate)));
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate,
-                                            board.getPiece(candidateDestinationCoordinate)), PieceUtils.INSTANCE.getMovedBishop(this.pieceAlliance, candidateDestinationCoordinate)));
-                            legalMoves.add(new PawnPromotion(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate,
-                                            board.getPiece(candidateDestinationCoordinate)), PieceUtils.INSTANCE.getMovedKnight(this.pieceAlliance, candidateDestinationCoordinate)));
-                        }
-                        else {
-                            legalMoves.add(
-                                    new PawnAttackMove(board, this, candidateDestinationCoordinate,
-                                            board.getPiece(candidateDestinationCoordinate)));
-                        }
-                    }
-                } else if (board.getEnPassantPawn() != null && board.getEnPassantPawn().getPiecePosition() ==
-                        (this.piecePosition - (this.pieceAlliance.getOppositeDirection()))) {
-                    final Piece pieceOnCandidate = board.getEnPassantPawn();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAllegiance()) {
-                        legalMoves.add(
-                                new PawnEnPassantAttack(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-
-                    }
+            } else {
+                // the en passant pawn sits right behind the empty capture tile
+                final Pawn enPassantPawn = board.getEnPassantPawn();
+                if (enPassantPawn != null && this.pieceAlliance != enPassantPawn.getPieceAllegiance() &&
+                        enPassantPawn.getPiecePosition() ==
+                                candidateDestinationCoordinate - (this.pieceAlliance.getDirection() * 8)) {
+                    legalMoves.add(
+                            new PawnEnPassantAttack(board, this, candidateDestinationCoordinate, enPassantPawn));
                 }
             }
         }
         return ImmutableList.copyOf(legalMoves);
     }
 
+    // one promotion per piece the pawn can become
+    private void addPromotions(final List<Move> legalMoves,
+                               final Move pawnMove) {
+        final int destination = pawnMove.getDestinationCoordinate();
+        legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.INSTANCE.getMovedQueen(this.pieceAlliance, destination)));
+        legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.INSTANCE.getMovedRook(this.pieceAlliance, destination)));
+        legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.INSTANCE.getMovedBishop(this.pieceAlliance, destination)));
+        legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.INSTANCE.getMovedKnight(this.pieceAlliance, destination)));
+    }
+
     //TO RETURN THE PIECE TYPE IN STRING
     @Override
     public String toString() {
@@ -1,10 +1,16 @@
 package com.chess.engine.classic.pieces;
 
 import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.board.BitBoards;
 import com.chess.engine.classic.board.Board;
 import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.Move.MajorAttackMove;
+import com.chess.engine.classic.board.Move.MajorMove;
+import com.google.common.collect.ImmutableList;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public abstract class Piece {
 
@@ -57,6 +63,24 @@ public abstract class Piece {
 
     public abstract Collection<Move> calculateLegalMoves(final Board board);
 
+    // a move to every attacked tile not held by this side, capturing when an enemy piece is there
+    protected Collection<Move> calculateMovesFromAttacks(final Board board,
+                                                         final long attacks) {
+        final List<Move> legalMoves = new ArrayList<>();
+        final long enemyPieces = board.getOccupancy(this.pieceAlliance.isWhite() ? Alliance.BLACK : Alliance.WHITE);
+        long destinations = attacks & ~board.getOccupancy(this.pieceAlliance);
+        while (destinations != BitBoards.EMPTY) {
+            final int candidateDestinationCoordinate = BitBoards.firstSquare(destinations);
+            if (BitBoards.isSet(enemyPieces, candidateDestinationCoordinate)) {
+                legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
+                        board.getPiece(candidateDestinationCoordinate)));
+            } else {
+                legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+            }
+            destinations = BitBoards.popFirstSquare(destinations);
+        }
+        return ImmutableList.copyOf(legalMoves);
+    }
 
     @Override
     public boolean equals(final Object other) {
@@ -2,92 +2,121 @@ package com.chess.engine.classic.pieces;
 
 import com.chess.engine.classic.Alliance;
 import com.chess.engine.classic.board.BoardUtils;
-import com.google.common.collect.ImmutableTable;
-import com.google.common.collect.Table;
+import com.chess.engine.classic.pieces.Piece.PieceType;
 
-enum PieceUtils {
+/*
+ * Every piece a board can hold, made once and indexed by
+ * [alliance][type][tile][flags]. Flags are the first move bit for all pieces
+ * plus, for kings, the castled and castle capable bits, so moving pieces and
+ * building boards never allocates a piece.
+ */
+public enum PieceUtils {
 
     INSTANCE;
 
-    private final Table<Alliance, Integer, Queen> ALL_POSSIBLE_QUEENS = PieceUtils.createAllPossibleMovedQueens();
-    private final Table<Alliance, Integer, Rook> ALL_POSSIBLE_ROOKS = PieceUtils.createAllPossibleMovedRooks();
-    private final Table<Alliance, Integer, Knight> ALL_POSSIBLE_KNIGHTS = PieceUtils.createAllPossibleMovedKnights();
-    private final Table<Alliance, Integer, Bishop> ALL_POSSIBLE_BISHOPS = PieceUtils.createAllPossibleMovedBishops();
-    private final Table<Alliance, Integer, Pawn> ALL_POSSIBLE_PAWNS = PieceUtils.createAllPossibleMovedPawns();
+    private static final int FIRST_MOVE = 1;
+    private static final int CASTLED = 2;
+    private static final int KING_SIDE_CASTLE_CAPABLE = 4;
+    private static final int QUEEN_SIDE_CASTLE_CAPABLE = 8;
+    private static final int NUM_FLAGS = 2;
+    private static final int NUM_KING_FLAGS = 16;
+
+    private final Piece[][][][] ALL_POSSIBLE_PIECES = PieceUtils.createAllPossiblePieces();
+
+    // any piece but a king
+    public Piece getPiece(final Alliance alliance,
+                          final PieceType pieceType,
+                          final int coordinate,
+                          final boolean isFirstMove) {
+        if (pieceType == PieceType.KING) {
+            throw new IllegalArgumentException("kings are looked up with getKing");
+        }
+        return ALL_POSSIBLE_PIECES[alliance.ordinal()][pieceType.ordinal()][coordinate][isFirstMove ? FIRST_MOVE : 0];
+    }
+
+    public King getKing(final Alliance alliance,
+                        final int coordinate,
+                        final boolean isFirstMove,
+                        final boolean isCastled,
+                        final boolean kingSideCastleCapable,
+                        final boolean queenSideCastleCapable) {
+        final int flags = (isFirstMove ? FIRST_MOVE : 0) |
+                          (isCastled ? CASTLED : 0) |
+                          (kingSideCastleCapable ? KING_SIDE_CASTLE_CAPABLE : 0) |
+                          (queenSideCastleCapable ? QUEEN_SIDE_CASTLE_CAPABLE : 0);
+        return (King) ALL_POSSIBLE_PIECES[alliance.ordinal()][PieceType.KING.ordinal()][coordinate][flags];
+    }
 
     Pawn getMovedPawn(final Alliance alliance,
                       final int destinationCoordinate) {
-        return ALL_POSSIBLE_PAWNS.get(alliance, destinationCoordinate);
+        return (Pawn) getPiece(alliance, PieceType.PAWN, destinationCoordinate, false);
     }
 
     Knight getMovedKnight(final Alliance alliance,
                           final int destinationCoordinate) {
-        return ALL_POSSIBLE_KNIGHTS.get(alliance, destinationCoordinate);
+        return (Knight) getPiece(alliance, PieceType.KNIGHT, destinationCoordinate, false);
     }
 
     Bishop getMovedBishop(final Alliance alliance,
                           final int destinationCoordinate) {
-        return ALL_POSSIBLE_BISHOPS.get(alliance, destinationCoordinate);
+        return (Bishop) getPiece(alliance, PieceType.BISHOP, destinationCoordinate, false);
     }
 
-    Rook getMovedRook(final Alliance alliance,
-                      final int destinationCoordinate) {
-        return ALL_POSSIBLE_ROOKS.get(alliance, destinationCoordinate);
+    public Rook getMovedRook(final Alliance alliance,
+                             final int destinationCoordinate) {
+        return (Rook) getPiece(alliance, PieceType.ROOK, destinationCoordinate, false);
     }
 
     Queen getMovedQueen(final Alliance alliance,
                         final int destinationCoordinate) {
-        return ALL_POSSIBLE_QUEENS.get(alliance, destinationCoordinate);
-    }
-
-    private static Table<Alliance, Integer, Pawn> createAllPossibleMovedPawns() {
-        final ImmutableTable.Builder<Alliance, Integer, Pawn> pieces = ImmutableTable.builder();
-        for(final Alliance alliance : Alliance.values()) {
-            for(int i = 0; i < BoardUtils.NUM_TILES; i++) {
-                pieces.put(alliance, i, new Pawn(alliance, i, false));
-            }
-        }
-        return pieces.build();
+        return (Queen) getPiece(alliance, PieceType.QUEEN, destinationCoordinate, false);
     }
 
-    private static Table<Alliance, Integer, Knight> createAllPossibleMovedKnights() {
-        final ImmutableTable.Builder<Alliance, Integer, Knight> pieces = ImmutableTable.builder();
-        for(final Alliance alliance : Alliance.values()) {
-            for(int i = 0; i < BoardUtils.NUM_TILES; i++) {
-                pieces.put(alliance, i, new Knight(alliance, i, false));
-            }
-        }
-        return pieces.build();
+    King getMovedKing(final Alliance alliance,
+                      final int destinationCoordinate,
+                      final boolean isCastled) {
+        return getKing(alliance, destinationCoordinate, false, isCastled, false, false);
     }
 
-    private static Table<Alliance, Integer, Bishop> createAllPossibleMovedBishops() {
-        final ImmutableTable.Builder<Alliance, Integer, Bishop> pieces = ImmutableTable.builder();
-        for(final Alliance alliance : Alliance.values()) {
-            for(int i = 0; i < BoardUtils.NUM_TILES; i++) {
-                pieces.put(alliance, i, new Bishop(alliance, i, false));
+    private static Piece[][][][] createAllPossiblePieces() {
+        final Piece[][][][] pieces = new Piece[Alliance.values().length][PieceType.values().length][][];
+        for (final Alliance alliance : Alliance.values()) {
+            for (final PieceType pieceType : PieceType.values()) {
+                final int numFlags = pieceType == PieceType.KING ? NUM_KING_FLAGS : NUM_FLAGS;
+                final Piece[][] tiles = new Piece[BoardUtils.NUM_TILES][numFlags];
+                for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+                    for (int flags = 0; flags < numFlags; flags++) {
+                        tiles[i][flags] = createPiece(alliance, pieceType, i, flags);
+                    }
+                }
+                pieces[alliance.ordinal()][pieceType.ordinal()] = tiles;
             }
         }
-        return pieces.build();
+        return pieces;
     }
 
-    private static Table<Alliance, Integer, Rook> createAllPossibleMovedRooks() {
-        final ImmutableTable.Builder<Alliance, Integer, Rook> pieces = ImmutableTable.builder();
-        for(final Alliance alliance : Alliance.values()) {
-            for(int i = 0; i < BoardUtils.NUM_TILES; i++) {
-                pieces.put(alliance, i, new Rook(alliance, i, false));
-            }
-        }
-        return pieces.build();
-    }
-
-    private static Table<Alliance, Integer, Queen> createAllPossibleMovedQueens() {
-        final ImmutableTable.Builder<Alliance, Integer, Queen> pieces = ImmutableTable.builder();
-        for(final Alliance alliance : Alliance.values()) {
-            for(int i = 0; i < BoardUtils.NUM_TILES; i++) {
-                pieces.put(alliance, i, new Queen(alliance, i, false));
-            }
+    private static Piece createPiece(final Alliance alliance,
+                                     final PieceType pieceType,
+                                     final int coordinate,
+                                     final int flags) {
+        final boolean isFirstMove = (flags & FIRST_MOVE) != 0;
+        switch (pieceType) {
+            case PAWN:
+                return new Pawn(alliance, coordinate, isFirstMove);
+            case KNIGHT:
+                return new Knight(alliance, coordinate, isFirstMove);
+            case BISHOP:
+                return new Bishop(alliance, coordinate, isFirstMove);
+            case ROOK:
+                return new Rook(alliance, coordinate, isFirstMove);
+            case QUEEN:
+                return new Queen(alliance, coordinate, isFirstMove);
+            case KING:
+                return new King(alliance, coordinate, isFirstMove, (flags & CASTLED) != 0,
+                        (flags & KING_SIDE_CASTLE_CAPABLE) != 0, (flags & QUEEN_SIDE_CASTLE_CAPABLE) != 0);
+            default:
+                throw new IllegalArgumentException("unknown piece type " + pieceType);
         }
-        return pieces.build();
     }
 
 }
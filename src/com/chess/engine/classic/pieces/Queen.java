@@ -2,21 +2,13 @@ package com.chess.engine.classic.pieces;
 
 import com.chess.engine.classic.Alliance;
 import com.chess.engine.classic.board.Board;
-import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.MagicBitBoards;
 import com.chess.engine.classic.board.Move;
-import com.chess.engine.classic.board.Move.MajorAttackMove;
-import com.chess.engine.classic.board.Move.MajorMove;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 public final class Queen extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = { -9, -8, -7, -1, 1,
-            7, 8, 9 };
-
     //CONSTRACTAR IN FIRST USE
     public Queen(final Alliance alliance, final int piecePosition) {
         super(PieceType.QUEEN, alliance, piecePosition, true);
@@ -32,33 +24,7 @@ public final class Queen extends Piece {
     //CHECK THE MOVES THAT I CAN MOVE IN
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-            int candidateDestinationCoordinate = this.piecePosition;
-            while (true) {
-                if (isFirstColumnExclusion(currentCandidateOffset, candidateDestinationCoordinate) ||
-                        isEightColumnExclusion(currentCandidateOffset, candidateDestinationCoordinate)) {
-                    break;
-                }
-                candidateDestinationCoordinate += currentCandidateOffset;
-                if (!BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                    break;
-                } else {
-                    final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
-                    if (pieceAtDestination == null) {
-                        legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                    } else {
-                        final Alliance pieceAtDestinationAllegiance = pieceAtDestination.getPieceAllegiance();
-                        if (this.pieceAlliance != pieceAtDestinationAllegiance) {
-                            legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
-                                    pieceAtDestination));
-                        }
-                        break;
-                    }
-                }
-            }
-        }
-        return ImmutableList.copyOf(legalMoves);
+        return calculateMovesFromAttacks(board, MagicBitBoards.queenAttacks(this.piecePosition, board.getOccupancy()));
     }
 
     @Override
@@ -77,18 +43,4 @@ public final class Queen extends Piece {
         return this.pieceType.toString();
     }
 
-    // CHECK IF BISHOP IN FIRST COLUMN AND THE MOVE IS -1 oR 7 OR -9
-    private static boolean isFirstColumnExclusion(final int currentPosition,
-                                                  final int candidatePosition) {
-        return BoardUtils.INSTANCE.FIRST_COLUMN.get(candidatePosition) && ((currentPosition == -9)
-                || (currentPosition == -1) || (currentPosition == 7));
-    }
-
-    // CHECK IF BISHOP IN EIGHTH COLUMN AND THE MOVE IS -7 OR 9 OR 1
-    private static boolean isEightColumnExclusion(final int currentPosition,
-                                                  final int candidatePosition) {
-        return BoardUtils.INSTANCE.EIGHTH_COLUMN.get(candidatePosition) && ((currentPosition == -7)
-                || (currentPosition == 1) || (currentPosition == 9));
-    }
-
 }
\ No newline at end of file
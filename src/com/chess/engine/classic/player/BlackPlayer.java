@@ -2,7 +2,7 @@ package com.chess.engine.classic.player;
 
 import com.chess.engine.classic.Alliance;
 import com.chess.engine.classic.board.Board;
-import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.BitBoards;
 import com.chess.engine.classic.board.Move;
 import com.chess.engine.classic.board.Move.KingSideCastleMove;
 import com.chess.engine.classic.board.Move.QueenSideCastleMove;
@@ -16,16 +16,13 @@ import java.util.List;
 
 public final class BlackPlayer extends Player {
 
-    public BlackPlayer(final Board board,
-                       final Collection<Move> whiteStandardLegals,
-                       final Collection<Move> blackStandardLegals) {
-        super(board, blackStandardLegals, whiteStandardLegals);
+    public BlackPlayer(final Board board) {
+        super(board);
     }
 
     // check if king can castle with right or lift an add there move in collection
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
-                                                    final Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles() {
 
         if (this.isInCheck() || this.isCastled() || !(this.isKingSideCastleCapable() || this.isQueenSideCastleCapable())) {
             return ImmutableList.of();
@@ -38,14 +35,10 @@ public final class BlackPlayer extends Player {
             if (this.board.getPiece(5) == null && this.board.getPiece(6) == null) {
                 final Piece kingSideRook = this.board.getPiece(7);
                 if (kingSideRook != null && kingSideRook.isFirstMove() &&
-                        Player.calculateAttacksOnTile(5, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(6, opponentLegals).isEmpty() &&
+                        isSafePath(BitBoards.squareMask(5) | BitBoards.squareMask(6)) &&
                         kingSideRook.getPieceType().isRook()) {
-                    if (!BoardUtils.isKingPawnTrap(this.board, this.playerKing, 12)) {
-                        kingCastles.add(
-                                new KingSideCastleMove(this.board, this.playerKing, 6, (Rook) kingSideRook, kingSideRook.getPiecePosition(), 5));
-
-                    }
+                    kingCastles.add(
+                            new KingSideCastleMove(this.board, this.playerKing, 6, (Rook) kingSideRook, kingSideRook.getPiecePosition(), 5));
                 }
             }
             //blacks queen side castle
@@ -53,13 +46,10 @@ public final class BlackPlayer extends Player {
                     this.board.getPiece(3) == null) {
                 final Piece queenSideRook = this.board.getPiece(0);
                 if (queenSideRook != null && queenSideRook.isFirstMove() &&
-                        Player.calculateAttacksOnTile(2, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(3, opponentLegals).isEmpty() &&
+                        isSafePath(BitBoards.squareMask(2) | BitBoards.squareMask(3)) &&
                         queenSideRook.getPieceType().isRook()) {
-                    if (!BoardUtils.isKingPawnTrap(this.board, this.playerKing, 12)) {
-                        kingCastles.add(
-                                new QueenSideCastleMove(this.board, this.playerKing, 2, (Rook) queenSideRook, queenSideRook.getPiecePosition(), 3));
-                    }
+                    kingCastles.add(
+                            new QueenSideCastleMove(this.board, this.playerKing, 2, (Rook) queenSideRook, queenSideRook.getPiecePosition(), 3));
                 }
             }
         }
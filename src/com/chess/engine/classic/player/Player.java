@@ -2,31 +2,36 @@ package com.chess.engine.classic.player;
 
 import com.chess.engine.classic.Alliance;
 import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.GameStatus;
+import com.chess.engine.classic.board.LegalMoveGenerator;
 import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.Move.MoveFactory;
 import com.chess.engine.classic.board.Move.MoveStatus;
 import com.chess.engine.classic.board.MoveTransition;
+import com.chess.engine.classic.board.PackedMove;
 import com.chess.engine.classic.pieces.King;
 import com.chess.engine.classic.pieces.Piece;
-import com.google.common.collect.ImmutableList;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.List;
 
 public abstract class Player {
 
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
     protected final boolean isInCheck;
+    private volatile Collection<Move> legalMoves;
+    private volatile Int2ObjectMap<Move> moveIndex;
+    private volatile GameStatus gameStatus;
 
-    Player(final Board board,
-           final Collection<Move> playerLegals,
-           final Collection<Move> opponentLegals) {
+    Player(final Board board) {
         this.board = board;
         this.playerKing = establishKing();
-        this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentLegals).isEmpty();
-        playerLegals.addAll(calculateKingCastles(playerLegals, opponentLegals));
-        this.legalMoves = ImmutableList.copyOf(playerLegals);
+        this.isInCheck = board.isSquareAttacked(this.playerKing.getPiecePosition(), getOpponentAlliance());
     }
 
     // return if the king is in check or not (it have ways to escape )
@@ -36,12 +41,23 @@ public abstract class Player {
 
     // return if the king is in checkMate or not (it have not ways to escape )
     public boolean isInCheckMate() {
-        return this.isInCheck && !hasEscapeMoves();
+        return getGameStatus() == GameStatus.CHECKMATE;
     }
 
     // return true if there are no ways to king to move
     public boolean isInStaleMate() {
-        return !this.isInCheck && !hasEscapeMoves();
+        return getGameStatus() == GameStatus.STALEMATE;
+    }
+
+    // worked out once; racing threads compute the same value, so no lock is needed
+    public GameStatus getGameStatus() {
+        GameStatus gameStatus = this.gameStatus;
+        if (gameStatus == null) {
+            gameStatus = hasEscapeMoves() ? GameStatus.IN_PROGRESS :
+                         this.isInCheck ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+            this.gameStatus = gameStatus;
+        }
+        return gameStatus;
     }
 
     // return true if king is castled
@@ -62,42 +78,102 @@ public abstract class Player {
         return this.playerKing;
     }
 
-    // returns all kings for this player
+    // returns the king of this player, found through the board's king bitboard
     private King establishKing() {
-        return (King) getActivePieces().stream().filter(piece ->
-                piece.getPieceType().isKing()).findAny().orElseThrow(RuntimeException::new);
+        final int kingSquare = this.board.getKingSquare(getAlliance());
+        if (kingSquare == Board.NO_SQUARE) {
+            throw new RuntimeException("no " + getAlliance() + " king on the board");
+        }
+        return (King) this.board.getPiece(kingSquare);
     }
 
-    // return true if piece can make move to escape
+    // return true if piece can make move to escape; without the move list this stops at the first legal move
     private boolean hasEscapeMoves() {
-        return this.legalMoves.stream().anyMatch(move -> makeMove(move).getMoveStatus().isDone());
+        final Collection<Move> legalMoves = this.legalMoves;
+        if (legalMoves != null) {
+            return !legalMoves.isEmpty();
+        }
+        return LegalMoveGenerator.hasLegalMove(this.board, getAlliance(), getActivePieces());
     }
 
-    // returns legal move
+    // returns legal move, generated (castles included) the first time they are asked for
     public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+        Collection<Move> legalMoves = this.legalMoves;
+        if (legalMoves == null) {
+            synchronized (this) {
+                legalMoves = this.legalMoves;
+                if (legalMoves == null) {
+                    legalMoves = calculateLegalMoves();
+                    this.legalMoves = legalMoves;
+                }
+            }
+        }
+        return legalMoves;
+    }
+
+    // the legal move with these tiles and promotion (null for none), or the null move
+    public Move getMove(final int currentCoordinate,
+                        final int destinationCoordinate,
+                        final PieceType promotionType) {
+        final Move move = getMoveIndex().get(PackedMove.lookupKey(currentCoordinate, destinationCoordinate, promotionType));
+        return move != null ? move : MoveFactory.getNullMove();
+    }
+
+    // legal moves keyed by PackedMove.lookupKey, built the first time a move is looked up
+    private Int2ObjectMap<Move> getMoveIndex() {
+        Int2ObjectMap<Move> moveIndex = this.moveIndex;
+        if (moveIndex == null) {
+            synchronized (this) {
+                moveIndex = this.moveIndex;
+                if (moveIndex == null) {
+                    final Collection<Move> legalMoves = getLegalMoves();
+                    final Int2ObjectOpenHashMap<Move> index = new Int2ObjectOpenHashMap<>(legalMoves.size());
+                    for (final Move move : legalMoves) {
+                        index.put(PackedMove.lookupKey(PackedMove.fromMove(move)), move);
+                    }
+                    moveIndex = index;
+                    this.moveIndex = moveIndex;
+                }
+            }
+        }
+        return moveIndex;
+    }
+
+    private Collection<Move> calculateLegalMoves() {
+        final List<Move> playerLegals = new ArrayList<>();
+        for (final Piece piece : getActivePieces()) {
+            playerLegals.addAll(piece.calculateLegalMoves(this.board));
+        }
+        playerLegals.addAll(calculateKingCastles());
+        return LegalMoveGenerator.calculateLegalMoves(this.board, getAlliance(), playerLegals);
     }
 
-    // get true if there are attack on this tile
-    static Collection<Move> calculateAttacksOnTile(final int tile,
-                                                   final Collection<Move> moves) {
-        return moves.stream().filter(move -> move.getDestinationCoordinate() == tile)
-                .collect(Collectors.collectingAndThen(Collectors.toList(), ImmutableList::copyOf));
+    // true if none of the tiles is attacked by the opponent, looked up in the board's attack map
+    boolean isSafePath(final long tiles) {
+        return (this.board.getAttackMap(getOpponentAlliance()) & tiles) == 0L;
     }
 
-    // it make anew move (illegal OR DONE)
+    private Alliance getOpponentAlliance() {
+        return getAlliance().isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+
+    // it make anew move (illegal OR DONE); moves that would leave the king in check were never made legal
     public MoveTransition makeMove(final Move move) {
-        if (!this.legalMoves.contains(move)) {
-            return new MoveTransition(this.board, this.board, move, MoveStatus.ILLEGAL_MOVE);
+        if (!isLegalMove(move)) {
+            final boolean isOwnMove = move.getBoard() == this.board &&
+                                      move.getMovedPiece().getPieceAllegiance() == getAlliance();
+            return new MoveTransition(this.board, this.board, move,
+                    isOwnMove ? MoveStatus.LEAVES_PLAYER_IN_CHECK : MoveStatus.ILLEGAL_MOVE);
         }
-        final Board transitionedBoard = move.execute();
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(
-                transitionedBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                transitionedBoard.currentPlayer().getLegalMoves());
-        if (!kingAttacks.isEmpty()) {
-            return new MoveTransition(this.board, this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
+        return new MoveTransition(this.board, move.execute(), move, MoveStatus.DONE);
+    }
+
+    private boolean isLegalMove(final Move move) {
+        if (move == MoveFactory.getNullMove()) {
+            return false;
         }
-        return new MoveTransition(this.board, transitionedBoard, move, MoveStatus.DONE);
+        final Move legalMove = getMoveIndex().get(PackedMove.lookupKey(PackedMove.fromMove(move)));
+        return legalMove != null && legalMove.equals(move);
     }
 
     // it make undo for move
@@ -108,7 +184,6 @@ public abstract class Player {
     public abstract Collection<Piece> getActivePieces();
     public abstract Alliance getAlliance();
     public abstract Player getOpponent();
-    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals,
-                                                             Collection<Move> opponentLegals);
+    protected abstract Collection<Move> calculateKingCastles();
 
 }
@@ -1,180 +1,49 @@
 package com.chess.engine.classic.player.ai;
 
-import com.chess.engine.classic.Alliance;
-import com.chess.engine.classic.board.Board;
-import com.chess.engine.classic.board.BoardUtils;
-import com.chess.engine.classic.board.Move;
-import com.chess.engine.classic.board.MoveTransition;
-import com.chess.engine.classic.player.Player;
-import com.google.common.collect.ComparisonChain;
-import com.google.common.collect.Ordering;
-
-import java.util.Collection;
-import java.util.Comparator;
-import java.util.Observable;
-
-import static com.chess.engine.classic.board.Move.*;
-
-public class AlphaBetaWithMoveOrdering extends Observable implements MoveStrategy {
-
-    private final BoardEvaluator evaluator;
-    private final int searchDepth;
-    private final MoveSorter moveSorter;
-    private final int quiescenceFactor;
-    private long boardsEvaluated;
-    private long executionTime;
-    private int quiescenceCount;
-    private int cutOffsProduced;
-
-    private enum MoveSorter {
-
-        SORT {
-            @Override
-            Collection<Move> sort(final Collection<Move> moves) {
-                return Ordering.from(SMART_SORT).immutableSortedCopy(moves);
-            }
-        };
-
-        public static Comparator<Move> SMART_SORT = new Comparator<Move>() {
-            @Override
-            public int compare(final Move move1, final Move move2) {
-                return ComparisonChain.start()
-                        .compareTrueFirst(BoardUtils.isThreatenedBoardImmediate(move1.getBoard()), BoardUtils.isThreatenedBoardImmediate(move2.getBoard()))
-                        .compareTrueFirst(move1.isAttack(), move2.isAttack())
-                        .compareTrueFirst(move1.isCastlingMove(), move2.isCastlingMove())
-                        .compare(move2.getMovedPiece().getPieceValue(), move1.getMovedPiece().getPieceValue())
-                        .result();
-            }
-        };
-
-        abstract Collection<Move> sort(Collection<Move> moves);
-    }
-
+/*
+ * Alpha-beta with the transposition table, searching checks, then captures,
+ * then castling, then the most valuable pieces first at every node, with
+ * killer moves and the history table ahead of the other quiet moves.
+ */
+public class AlphaBetaWithMoveOrdering extends NegamaxSearch {
+
+    // a quiescenceFactor above zero searches the captures left at the leaves like StockAlphaBeta
     public AlphaBetaWithMoveOrdering(final int searchDepth,
                                      final int quiescenceFactor) {
-        this.evaluator = StandardBoardEvaluator.get();
-        this.searchDepth = searchDepth;
-        this.quiescenceFactor = quiescenceFactor;
-        this.moveSorter = MoveSorter.SORT;
-        this.boardsEvaluated = 0;
-        this.quiescenceCount = 0;
-        this.cutOffsProduced = 0;
-    }
-
-    @Override
-    public String toString() {
-        return "AB+MO";
-    }
-
-    @Override
-    public long getNumBoardsEvaluated() {
-        return this.boardsEvaluated;
-    }
-
-    @Override
-    public Move execute(final Board board) {
-        final long startTime = System.currentTimeMillis();
-        final Player currentPlayer = board.currentPlayer();
-        final Alliance alliance = currentPlayer.getAlliance();
-        Move bestMove = MoveFactory.getNullMove();
-        int alphaValue = Integer.MIN_VALUE;
-        int betaValue = Integer.MAX_VALUE;
-        int currentValue;
-        int moveCounter = 1;
-        final int numMoves = this.moveSorter.sort(board.currentPlayer().getLegalMoves()).size();
-        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth);
-        System.out.println("\tOrdered moves! : " + this.moveSorter.sort(board.currentPlayer().getLegalMoves()));
-        for (final Move move : this.moveSorter.sort(board.currentPlayer().getLegalMoves())) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            this.quiescenceCount = 0;
-            final String s;
-            if (moveTransition.getMoveStatus().isDone()) {
-                final long candidateMoveStartTime = System.nanoTime();
-                currentValue = alliance.isWhite() ?
-                        min(moveTransition.getToBoard(), this.searchDepth - 1, alphaValue, betaValue) :
-                        max(moveTransition.getToBoard(), this.searchDepth - 1, alphaValue, betaValue);
-                if (alliance.isWhite() && currentValue > alphaValue) {
-                    alphaValue = currentValue;
-                    bestMove = move;
-                }
-                else if (alliance.isBlack() && currentValue < betaValue) {
-                    betaValue = currentValue;
-                    bestMove = move;
-                }
-                final String quiescenceInfo = " [h: " +alphaValue+ " l: " +betaValue+ "] q: " +this.quiescenceCount;
-                s = "\t" + toString() + "(" +this.searchDepth+ "), m: (" +moveCounter+ "/" +numMoves+ ") " + move + ", best:  " + bestMove
-
-                        + quiescenceInfo + ", t: " +calculateTimeTaken(candidateMoveStartTime, System.nanoTime());
-            } else {
-                s = "\t" + toString() + ", m: (" +moveCounter+ "/" +numMoves+ ") " + move + " is illegal, best: " +bestMove;
-            }
-            System.out.println(s);
-            setChanged();
-            notifyObservers(s);
-            moveCounter++;
-        }
-        this.executionTime = System.currentTimeMillis() - startTime;
-        System.out.printf("%s SELECTS %s [#boards evaluated = %d, time taken = %d ms, eval rate = %.1f cutoffCount = %d prune percent = %.2f\n", board.currentPlayer(),
-                bestMove, this.boardsEvaluated, this.executionTime, (1000 * ((double)this.boardsEvaluated/this.executionTime)), this.cutOffsProduced, 100 * ((double)this.cutOffsProduced/this.boardsEvaluated));
-        return bestMove;
+        this(searchDepth, quiescenceFactor, false);
     }
 
-    public int max(final Board board,
-                   final int depth,
-                   final int highest,
-                   final int lowest) {
-        if (depth == 0 || BoardUtils.isEndGame(board)) {
-            this.boardsEvaluated++;
-            return this.evaluator.evaluate(board, depth);
-        }
-        int currentHighest = highest;
-        for (final Move move : this.moveSorter.sort((board.currentPlayer().getLegalMoves()))) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                currentHighest = Math.max(currentHighest, min(moveTransition.getToBoard(),
-                        calculateQuiescenceDepth(board, move, depth), currentHighest, lowest));
-                if (lowest <= currentHighest) {
-                    this.cutOffsProduced++;
-                    break;
-                }
-            }
-        }
-        return currentHighest;
+    // makeUnmake searches below the root on one mutable SearchBoard instead of a Board per node
+    public AlphaBetaWithMoveOrdering(final int searchDepth,
+                                     final int quiescenceFactor,
+                                     final boolean makeUnmake) {
+        this(searchDepth, quiescenceFactor, makeUnmake, new TranspositionTable());
     }
 
-    public int min(final Board board,
-                   final int depth,
-                   final int highest,
-                   final int lowest) {
-        if (depth == 0 || BoardUtils.isEndGame(board)) {
-            this.boardsEvaluated++;
-            return this.evaluator.evaluate(board, depth);
-        }
-        int currentLowest = lowest;
-        for (final Move move : this.moveSorter.sort((board.currentPlayer().getLegalMoves()))) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                currentLowest = Math.min(currentLowest, max(moveTransition.getToBoard(),
-                        calculateQuiescenceDepth(board, move, depth), highest, currentLowest));
-                if (currentLowest <= highest) {
-                    this.cutOffsProduced++;
-                    break;
-                }
-            }
-        }
-        return currentLowest;
+    // strategies searching in parallel may share one transposition table
+    public AlphaBetaWithMoveOrdering(final int searchDepth,
+                                     final int quiescenceFactor,
+                                     final boolean makeUnmake,
+                                     final TranspositionTable transpositionTable) {
+        super(searchDepth, config(quiescenceFactor, makeUnmake), transpositionTable);
     }
 
-    private int calculateQuiescenceDepth(final Board board,
-                                         final Move move,
-                                         final int depth) {
-        return depth - 1;
+    static SearchConfig config(final int quiescenceFactor,
+                               final boolean makeUnmake) {
+        return new SearchConfig.Builder()
+                .setTranspositionTable(true)
+                .setQuiescence(quiescenceFactor > 0)
+                .setKillerMoves(true)
+                .setHistoryHeuristic(true)
+                .setMakeUnmake(makeUnmake)
+                .setRootMoveSorter(MoveSorter.SMART)
+                .setMoveSorter(MoveSorter.SMART)
+                .build();
     }
 
-    private static String calculateTimeTaken(final long start, final long end) {
-        final long timeTaken = (end - start) / 1000000;
-        return timeTaken + " ms";
+    @Override
+    public String toString() {
+        return "AB+MO";
     }
 
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.PackedMove;
+
+/*
+ * What earlier cutoffs say about quiet moves: the last two quiet moves that
+ * caused a beta cutoff at each ply (killer moves) and, per side and per
+ * from and to tile, how much cutting off with such a move has been worth
+ * (butterfly history). The tables outlive a search and are aged at the
+ * start of the next one.
+ */
+public final class HistoryHeuristic {
+
+    public static final int NO_KILLER_MOVE = -1;
+
+    private static final int MAX_SEARCH_PLY = 64;
+    private static final int NUM_KILLER_MOVES = 2;
+    // once a score reaches this all scores are halved, so recent cutoffs weigh more than old ones
+    private static final int MAX_HISTORY_SCORE = 1 << 20;
+
+    private final int[][] killerMoves;
+    private final int[][][] history;
+
+    public HistoryHeuristic() {
+        this.killerMoves = new int[MAX_SEARCH_PLY][NUM_KILLER_MOVES];
+        this.history = new int[Alliance.values().length][BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+    }
+
+    // called once per search: killer moves were found at other plies of another tree, history is halved
+    public void age() {
+        clearKillerMoves();
+        halveHistory();
+    }
+
+    public void clear() {
+        clearKillerMoves();
+        for (final int[][] fromTiles : this.history) {
+            for (final int[] toTiles : fromTiles) {
+                for (int i = 0; i < toTiles.length; i++) {
+                    toTiles[i] = 0;
+                }
+            }
+        }
+    }
+
+    // a quiet move of the alliance caused a beta cutoff at this ply; deeper searches count for more
+    public void update(final Alliance alliance,
+                       final int move,
+                       final int ply,
+                       final int depth) {
+        if (ply < MAX_SEARCH_PLY) {
+            final int[] killers = this.killerMoves[ply];
+            if (killers[0] != move) {
+                killers[1] = killers[0];
+                killers[0] = move;
+            }
+        }
+        final int[] toTiles = this.history[alliance.ordinal()][PackedMove.from(move)];
+        toTiles[PackedMove.to(move)] += depth * depth;
+        if (toTiles[PackedMove.to(move)] >= MAX_HISTORY_SCORE) {
+            halveHistory();
+        }
+    }
+
+    // 0 for the latest killer move of the ply, 1 for the one before, NO_KILLER_MOVE otherwise
+    public int getKillerRank(final int ply,
+                             final int move) {
+        if (ply >= MAX_SEARCH_PLY || move == PackedMove.NULL_MOVE) {
+            return NO_KILLER_MOVE;
+        }
+        final int[] killers = this.killerMoves[ply];
+        for (int i = 0; i < killers.length; i++) {
+            if (killers[i] == move) {
+                return i;
+            }
+        }
+        return NO_KILLER_MOVE;
+    }
+
+    public int getHistoryScore(final Alliance alliance,
+                               final int move) {
+        return this.history[alliance.ordinal()][PackedMove.from(move)][PackedMove.to(move)];
+    }
+
+    private void clearKillerMoves() {
+        for (final int[] killers : this.killerMoves) {
+            for (int i = 0; i < killers.length; i++) {
+                killers[i] = PackedMove.NULL_MOVE;
+            }
+        }
+    }
+
+    private void halveHistory() {
+        for (final int[][] fromTiles : this.history) {
+            for (final int[] toTiles : fromTiles) {
+                for (int i = 0; i < toTiles.length; i++) {
+                    toTiles[i] >>= 1;
+                }
+            }
+        }
+    }
+
+}
@@ -6,20 +6,16 @@ import com.chess.engine.classic.board.Move;
 import com.chess.engine.classic.board.MoveTransition;
 import com.chess.engine.classic.player.Player;
 import com.google.common.collect.ImmutableList;
-import com.google.common.primitives.Booleans;
 import com.google.common.primitives.Ints;
 
 import java.util.*;
 
 public final class MoveOrdering {
 
-    private final BoardEvaluator evaluator;
-
     private static final MoveOrdering INSTANCE = new MoveOrdering();
     private static final int ORDER_SEARCH_DEPTH = 2;
 
     private MoveOrdering() {
-        this.evaluator = StandardBoardEvaluator.get();
     }
 
     public static MoveOrdering get() {
@@ -56,14 +52,13 @@ public final class MoveOrdering {
 
     private List<Move> orderImpl(final Board board,
                                  final int depth) {
+        final NegamaxSearch search = new NegamaxSearch(depth, MiniMax.config(), new TranspositionTable(1));
         final List<MoveOrderEntry> moveOrderEntries = new ArrayList<>();
         for (final Move move : board.currentPlayer().getLegalMoves()) {
             final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
             if (moveTransition.getMoveStatus().isDone()) {
                 final int attackBonus = calculateAttackBonus(board.currentPlayer(), move);
-                final int currentValue = attackBonus + (board.currentPlayer().getAlliance().isWhite() ?
-                        min(moveTransition.getToBoard(), depth - 1) :
-                        max(moveTransition.getToBoard(), depth - 1));
+                final int currentValue = attackBonus + search.search(moveTransition.getToBoard(), depth - 1);
                 moveOrderEntries.add(new MoveOrderEntry(move, currentValue));
             }
         }
@@ -86,60 +81,5 @@ public final class MoveOrdering {
         final int attackBonus = move.isAttack() ? 1000 : 0;
         return attackBonus * (player.getAlliance().isWhite() ? 1 : -1);
     }
-//sort move with bref attac
-    private static Collection<Move> calculateSimpleMoveOrder(final Collection<Move> moves) {
-
-        final List<Move> sortedMoves = new ArrayList<>();
-        sortedMoves.addAll(moves);
-        Collections.sort(sortedMoves, new Comparator<Move>() {
-            @Override
-            public int compare(final Move m1, final Move m2) {
-                return Booleans.compare(m2.isAttack(), m1.isAttack());
-            }
-        });
-
-        return sortedMoves;
-    }
-
-    public int min(final Board board,
-                   final int depth) {
-        if(depth == 0 || isEndGameScenario(board)) {
-            return this.evaluator.evaluate(board, depth);
-        }
-        int lowestSeenValue = Integer.MAX_VALUE;
-        for (final Move move : calculateSimpleMoveOrder(board.currentPlayer().getLegalMoves())) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = max(moveTransition.getToBoard(), depth - 1);
-                if (currentValue <= lowestSeenValue) {
-                    lowestSeenValue = currentValue;
-                }
-            }
-        }
-        return lowestSeenValue;
-    }
-
-    public int max(final Board board,
-                   final int depth) {
-        if(depth == 0 || isEndGameScenario(board)) {
-            return this.evaluator.evaluate(board, depth);
-        }
-        int highestSeenValue = Integer.MIN_VALUE;
-        for (final Move move : calculateSimpleMoveOrder(board.currentPlayer().getLegalMoves())) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = min(moveTransition.getToBoard(), depth - 1);
-                if (currentValue >= highestSeenValue) {
-                    highestSeenValue = currentValue;
-                }
-            }
-        }
-        return highestSeenValue;
-    }
-//end game
-    private static boolean isEndGameScenario(final Board board) {
-        return  board.currentPlayer().isInCheckMate() ||
-                board.currentPlayer().isInStaleMate();
-    }
 
 }
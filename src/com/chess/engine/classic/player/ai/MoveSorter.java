@@ -0,0 +1,108 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.board.BitBoards;
+import com.chess.engine.classic.board.MoveList;
+import com.chess.engine.classic.board.MoveUtils;
+import com.chess.engine.classic.board.PackedMove;
+import com.chess.engine.classic.board.Position;
+import com.chess.engine.classic.board.SearchPosition;
+
+import static com.chess.engine.classic.board.BoardUtils.mvvlva;
+
+/*
+ * The move orders the strategies search in, picked per search by a
+ * SearchConfig: one for the root and one for every node below it. Each
+ * order is a score per packed move, the most important key in the highest
+ * bits; moves are sorted by it once per node.
+ */
+public enum MoveSorter {
+
+    NONE {
+        @Override
+        int score(final SearchPosition position,
+                  final int move) {
+            return 0;
+        }
+    },
+    // castling, then captures that do not lose material, quiet moves and captures that do, each by MVV-LVA
+    STANDARD {
+        @Override
+        int score(final SearchPosition position,
+                  final int move) {
+            return standardScore(position, move);
+        }
+    },
+    // moves giving check ahead of the STANDARD order
+    EXPENSIVE {
+        @Override
+        int score(final SearchPosition position,
+                  final int move) {
+            return (givesCheck(position, move) ? 1 << 27 : 0) | standardScore(position, move);
+        }
+    },
+    // captures, then castling, then the most valuable piece moving first
+    SMART {
+        @Override
+        int score(final SearchPosition position,
+                  final int move) {
+            final int movedPiece = position.getPieceIndex(PackedMove.from(move));
+            return (PackedMove.isCapture(move) ? 1 << 26 : 0) |
+                   (PackedMove.isCastle(move) ? 1 << 25 : 0) |
+                   BitBoards.pieceType(movedPiece).getPieceValue();
+        }
+    };
+
+    abstract int score(SearchPosition position,
+                       int move);
+
+    // highest score first, keeping the generated order among equal scores; scores is scratch space
+    void sort(final SearchPosition position,
+              final MoveList moves,
+              final int[] scores) {
+        if (this == NONE) {
+            return;
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            scores[i] = score(position, moves.get(i));
+        }
+        for (int i = 1; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            final int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                moves.set(j + 1, moves.get(j));
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves.set(j + 1, move);
+            scores[j + 1] = score;
+        }
+    }
+
+    private static int standardScore(final Position position,
+                                      final int move) {
+        return (PackedMove.isCastle(move) ? 1 << 26 : 0) |
+               ((exchangeOrder(position, move) + 1) << 24) |
+               mvvlva(position, move);
+    }
+
+    // captures that do not lose material, then quiet moves, then captures that do
+    private static int exchangeOrder(final Position position,
+                                     final int move) {
+        if (!PackedMove.isCapture(move)) {
+            return 0;
+        }
+        return MoveUtils.see(position, move) >= 0 ? 1 : -1;
+    }
+
+    private static boolean givesCheck(final SearchPosition position,
+                                      final int move) {
+        if (!position.makeMove(move)) {
+            return false;
+        }
+        final boolean givesCheck = position.isInCheck();
+        position.unmakeMove();
+        return givesCheck;
+    }
+
+}
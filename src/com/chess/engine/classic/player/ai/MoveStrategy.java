@@ -2,6 +2,7 @@ package com.chess.engine.classic.player.ai;
 
 import com.chess.engine.classic.board.Board;
 import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.MoveHistory;
 
 
 public interface MoveStrategy {
@@ -10,4 +11,10 @@ public interface MoveStrategy {
 
     Move execute(Board board);
 
+    // gameHistory holds the moves that led to the board, for strategies that score repetitions as draws
+    default Move execute(final Board board,
+                         final MoveHistory gameHistory) {
+        return execute(board);
+    }
+
 }
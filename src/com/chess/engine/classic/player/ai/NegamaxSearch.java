@@ -0,0 +1,552 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.BoardStack;
+import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.MoveHistory;
+import com.chess.engine.classic.board.MoveList;
+import com.chess.engine.classic.board.MoveTransition;
+import com.chess.engine.classic.board.PackedMove;
+import com.chess.engine.classic.board.SearchBoard;
+import com.chess.engine.classic.board.SearchPosition;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Observable;
+
+import static com.chess.engine.classic.board.Move.MoveFactory;
+
+/*
+ * The one alpha-beta search behind every strategy. It is written as negamax:
+ * inside the search a score is from the point of view of the side to move,
+ * and it is turned back into white's point of view for the evaluator, the
+ * transposition table and whoever calls execute. What a strategy adds on top
+ * of plain alpha-beta is chosen by its SearchConfig.
+ *
+ * Below the root the search walks one SearchPosition, making and taking back
+ * packed moves: a stack of Boards, or with makeUnmake a single SearchBoard.
+ * Leaves are evaluated on the position as a Board either way.
+ */
+public class NegamaxSearch extends Observable implements MoveStrategy {
+
+    static final int INFINITY = Integer.MAX_VALUE;
+
+    private static final int DRAW_SCORE = 0;
+    private static final int MAX_SEARCH_PLY = 64;
+    private static final int KILLER_MOVE_SCORE = Integer.MAX_VALUE - 2;
+    private static final int NULL_MOVE_REDUCTION = 2;
+    private static final int LATE_MOVE_REDUCTION = 1;
+    private static final int LATE_MOVE_MIN_DEPTH = 3;
+    private static final int LATE_MOVES_SEARCHED_IN_FULL = 3;
+    private static final int ASPIRATION_WINDOW = 50;
+
+    private final BoardEvaluator evaluator;
+    private final int searchDepth;
+    private final SearchConfig config;
+    private final TranspositionTable transpositionTable;
+    private final Quiescence quiescence;
+    private final HistoryHeuristic historyHeuristic;
+    private final int[][] pvTable;
+    private final int[] pvLength;
+    private final MoveList[] moveBuffers;
+    // scratch space for ordering a node's moves, done with before the node searches any of them
+    private final int[] moveScores;
+    private final int[] quietMoves;
+    private final int[] quietScores;
+    private int[] principalVariation;
+    private boolean followingPrincipalVariation;
+    private MoveHistory moveHistory;
+    private long boardsEvaluated;
+    private long executionTime;
+    private int cutOffsProduced;
+    private long transpositionTableHits;
+
+    public NegamaxSearch(final int searchDepth,
+                         final SearchConfig config) {
+        this(searchDepth, config, new TranspositionTable());
+    }
+
+    // strategies searching in parallel may share one transposition table
+    public NegamaxSearch(final int searchDepth,
+                         final SearchConfig config,
+                         final TranspositionTable transpositionTable) {
+        this.evaluator = StandardBoardEvaluator.get();
+        this.searchDepth = searchDepth;
+        this.config = config;
+        this.transpositionTable = transpositionTable;
+        this.quiescence = new Quiescence(this.evaluator);
+        this.historyHeuristic = new HistoryHeuristic();
+        this.pvTable = new int[MAX_SEARCH_PLY + 1][MAX_SEARCH_PLY + 1];
+        this.pvLength = new int[MAX_SEARCH_PLY + 1];
+        this.moveBuffers = new MoveList[MAX_SEARCH_PLY + 1];
+        this.moveScores = new int[MoveList.MAX_MOVES];
+        this.quietMoves = new int[MoveList.MAX_MOVES];
+        this.quietScores = new int[MoveList.MAX_MOVES];
+        for (int i = 0; i < this.moveBuffers.length; i++) {
+            this.moveBuffers[i] = new MoveList();
+        }
+        this.principalVariation = new int[0];
+        this.moveHistory = new MoveHistory();
+        this.boardsEvaluated = 0;
+        this.cutOffsProduced = 0;
+        this.transpositionTableHits = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Negamax";
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.boardsEvaluated + this.quiescence.getNumBoardsEvaluated();
+    }
+
+    // probes that returned a score without searching the node
+    public long getNumTranspositionTableHits() {
+        return this.transpositionTableHits;
+    }
+
+    public SearchConfig getConfig() {
+        return this.config;
+    }
+
+    // packed moves of the best line found by the last completed iteration, root move first
+    public int[] getPrincipalVariation() {
+        return this.principalVariation.clone();
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, new MoveHistory());
+    }
+
+    // the search pushes its own moves onto a copy of the game history, so repetitions of either are draws
+    @Override
+    public Move execute(final Board board,
+                        final MoveHistory gameHistory) {
+        final long startTime = System.currentTimeMillis();
+        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth);
+        final SearchPosition position = createPosition(board);
+        this.transpositionTable.newSearch();
+        this.moveHistory = gameHistory.copy();
+        this.principalVariation = new int[0];
+        this.historyHeuristic.age();
+
+        final List<Move> rootMoves = sortedRootMoves(board, position);
+        final Object2IntMap<Move> rootScores = new Object2IntOpenHashMap<>();
+        Move bestMove = MoveFactory.getNullMove();
+        int score = 0;
+        for (int depth = this.config.useIterativeDeepening() ? 1 : this.searchDepth; depth <= this.searchDepth; depth++) {
+            final long iterationStartTime = System.currentTimeMillis();
+            rootScores.clear();
+            if (this.config.useAspirationWindows() && depth > 1) {
+                final int alpha = score - ASPIRATION_WINDOW;
+                final int beta = score + ASPIRATION_WINDOW;
+                final RootResult result = searchRoot(board, rootMoves, rootScores, depth, alpha, beta, position);
+                if (result.score > alpha && result.score < beta) {
+                    bestMove = result.bestMove;
+                    score = result.score;
+                } else {
+                    // outside the window: the score is only a bound, search again with the full window
+                    rootScores.clear();
+                    final RootResult fullResult = searchRoot(board, rootMoves, rootScores, depth, -INFINITY, INFINITY, position);
+                    bestMove = fullResult.bestMove;
+                    score = fullResult.score;
+                }
+            } else {
+                final RootResult result = searchRoot(board, rootMoves, rootScores, depth, -INFINITY, INFINITY, position);
+                bestMove = result.bestMove;
+                score = result.score;
+            }
+            this.principalVariation = Arrays.copyOf(this.pvTable[0], this.pvLength[0]);
+            if (this.config.useIterativeDeepening()) {
+                // the next iteration starts with the moves that scored best in this one
+                rootMoves.sort((move1, move2) -> Integer.compare(rootScores.getInt(move2), rootScores.getInt(move1)));
+                final long iterationTime = System.currentTimeMillis() - iterationStartTime;
+                final String s = "\t" +toString()+ " bestMove = " +bestMove+ " Depth = " +depth+ " score = " +(sign(position) * score)+
+                        " pv = " +principalVariationToString()+ " took " +iterationTime+ " ms";
+                System.out.println(s + ", ordered moves : " +rootMoves);
+                setChanged();
+                notifyObservers(s);
+            }
+        }
+
+        this.executionTime = System.currentTimeMillis() - startTime;
+        final String result = String.format("%s SELECTS %s [#boards evaluated = %d, time taken = %d ms, eval rate = %.1f cutoffCount = %d prune percent = %.2f tt hits = %d pv = %s",
+                board.currentPlayer(), bestMove, getNumBoardsEvaluated(), this.executionTime, (1000 * ((double)getNumBoardsEvaluated()/this.executionTime)),
+                this.cutOffsProduced, 100 * ((double)this.cutOffsProduced/getNumBoardsEvaluated()), this.transpositionTableHits,
+                principalVariationToString());
+        System.out.println(result);
+        setChanged();
+        notifyObservers(result);
+        return bestMove;
+    }
+
+    // white's point of view score of the board searched to the given depth with the full window
+    int search(final Board board,
+               final int depth) {
+        final SearchPosition position = createPosition(board);
+        return sign(position) * negamax(position, depth, -INFINITY, INFINITY, 0, false);
+    }
+
+    // the position the search makes and takes back its moves on
+    private SearchPosition createPosition(final Board board) {
+        return this.config.useMakeUnmake() ? new SearchBoard(board) : new BoardStack(board);
+    }
+
+    // the legal moves of the board in the root sorter's order
+    private List<Move> sortedRootMoves(final Board board,
+                                       final SearchPosition position) {
+        final MoveList moves = this.moveBuffers[0];
+        moves.clear();
+        position.generateMoves(moves);
+        this.config.getRootMoveSorter().sort(position, moves, this.moveScores);
+        final List<Move> rootMoves = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++) {
+            final Move move = PackedMove.toMove(board, moves.get(i));
+            if (move != MoveFactory.getNullMove()) {
+                rootMoves.add(move);
+            }
+        }
+        return rootMoves;
+    }
+
+    private RootResult searchRoot(final Board board,
+                                  final List<Move> rootMoves,
+                                  final Object2IntMap<Move> rootScores,
+                                  final int depth,
+                                  final int alpha,
+                                  final int beta,
+                                  final SearchPosition position) {
+        final int sign = sign(position);
+        Move bestMove = MoveFactory.getNullMove();
+        int bestScore = alpha;
+        int moveCounter = 1;
+        int movesSearched = 0;
+        this.pvLength[0] = 0;
+        for (final Move move : rootMoves) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            final String s;
+            if (moveTransition.getMoveStatus().isDone()) {
+                final long candidateMoveStartTime = System.nanoTime();
+                final long quiescenceNodes = this.quiescence.getNumNodesSearched();
+                final int windowAlpha = this.config.useAlphaBeta() ? bestScore : -INFINITY;
+                final int windowBeta = this.config.useAlphaBeta() ? beta : INFINITY;
+                final int packedMove = PackedMove.fromMove(move);
+                this.pvLength[1] = 1;
+                position.makeMove(packedMove);
+                this.moveHistory.push(move);
+                this.followingPrincipalVariation = movesSearched == 0 && this.principalVariation.length > 0 &&
+                        packedMove == this.principalVariation[0];
+                boolean searchFullWindow = true;
+                int value = windowAlpha;
+                if (usePrincipalVariationSearch() && movesSearched > 0) {
+                    value = -negamax(position, depth - 1, -windowAlpha - 1, -windowAlpha, 1, true);
+                    searchFullWindow = value > windowAlpha && value < windowBeta;
+                }
+                if (searchFullWindow) {
+                    value = -negamax(position, depth - 1, -windowBeta, -windowAlpha, 1, true);
+                }
+                this.followingPrincipalVariation = false;
+                this.moveHistory.pop();
+                position.unmakeMove();
+                movesSearched++;
+                rootScores.put(move, value);
+                final boolean isBest = value > bestScore;
+                if (isBest) {
+                    bestScore = value;
+                    bestMove = move;
+                    updatePrincipalVariation(0, packedMove);
+                }
+                s = "\t" + toString() + "(" +depth+ "), m: (" +moveCounter+ "/" +rootMoves.size()+ ") " + move + ", best:  " + bestMove +
+                        " [score: " +(sign * bestScore)+ "] q: " +(this.quiescence.getNumNodesSearched() - quiescenceNodes)+
+                        ", t: " +calculateTimeTaken(candidateMoveStartTime, System.nanoTime());
+                if (isBest && (moveTransition.getToBoard().currentPlayer().isInCheckMate() ||
+                        (this.config.useAlphaBeta() && bestScore >= beta))) {
+                    printRootMove(s);
+                    break;
+                }
+            } else {
+                s = "\t" + toString() + ", m: (" +moveCounter+ "/" +rootMoves.size()+ ") " + move + " is illegal! best: " +bestMove;
+            }
+            printRootMove(s);
+            moveCounter++;
+        }
+        return new RootResult(bestMove, bestScore);
+    }
+
+    // progress of every root move, except while deepening where each iteration reports once
+    private void printRootMove(final String s) {
+        if (!this.config.useIterativeDeepening()) {
+            System.out.println(s);
+            setChanged();
+            notifyObservers(s);
+        }
+    }
+
+    private int negamax(final SearchPosition position,
+                        final int depth,
+                        final int alpha,
+                        final int beta,
+                        final int ply,
+                        final boolean nullMoveAllowed) {
+        this.pvLength[ply] = ply;
+        // a position repeated once is scored like the threefold repetition it can be forced into
+        if (BoardUtils.isDraw(position, this.moveHistory, 1)) {
+            return DRAW_SCORE;
+        }
+        // the leaves of the search are only scored once no capture is left to change the score
+        if (depth <= 0 && this.config.useQuiescence()) {
+            return this.quiescence.search(position, alpha, beta);
+        }
+        if (depth <= 0 || ply == MAX_SEARCH_PLY) {
+            return evaluate(position, depth);
+        }
+        final int sign = sign(position);
+        final boolean useAlphaBeta = this.config.useAlphaBeta();
+        final boolean useTranspositionTable = useAlphaBeta && this.config.useTranspositionTable();
+        final long zobristKey = position.getZobristKey();
+        long entry = TranspositionTable.NO_ENTRY;
+        if (useTranspositionTable) {
+            entry = this.transpositionTable.probe(zobristKey);
+            if (TranspositionTable.isUsable(entry, depth, whiteHighest(sign, alpha, beta), whiteLowest(sign, alpha, beta))) {
+                this.transpositionTableHits++;
+                return sign * TranspositionTable.score(entry);
+            }
+        }
+        final boolean isInCheck = position.isInCheck();
+        // let the opponent move twice: if that still fails high the node is not worth searching;
+        // never on the last iteration's line, which is expected to be searched in full
+        if (useAlphaBeta && this.config.useNullMove() && nullMoveAllowed && depth > NULL_MOVE_REDUCTION &&
+                !isInCheck && !this.followingPrincipalVariation && hasPiecesBesidesPawns(position)) {
+            this.moveHistory.push(PackedMove.NULL_MOVE, zobristKey);
+            position.makeNullMove();
+            final int value = -negamax(position, depth - 1 - NULL_MOVE_REDUCTION, -beta, -beta + 1, ply + 1, false);
+            position.unmakeMove();
+            this.moveHistory.pop();
+            if (value >= beta) {
+                this.cutOffsProduced++;
+                return beta;
+            }
+        }
+        final Alliance alliance = position.getSideToMove();
+        int bestScore = useAlphaBeta ? alpha : -INFINITY;
+        int bestMove = PackedMove.NULL_MOVE;
+        int movesSearched = 0;
+        final MoveList moves = orderMoves(position, ply, entry);
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            if (!position.makeMove(move)) {
+                continue;
+            }
+            this.moveHistory.push(move, zobristKey);
+            final int nextDepth = depth - 1;
+            final int childAlpha = useAlphaBeta ? bestScore : -INFINITY;
+            final int childBeta = useAlphaBeta ? beta : INFINITY;
+            // only the first move of a node on the last iteration's line carries on along it
+            this.followingPrincipalVariation = this.followingPrincipalVariation && movesSearched == 0 &&
+                    ply < this.principalVariation.length && move == this.principalVariation[ply];
+            boolean searchFullWindow = true;
+            int value = childAlpha;
+            if (useAlphaBeta && this.config.useLateMoveReductions() && movesSearched >= LATE_MOVES_SEARCHED_IN_FULL &&
+                    depth >= LATE_MOVE_MIN_DEPTH && beta - alpha == 1 && !isInCheck && isQuiet(move) && !position.isInCheck()) {
+                // a late quiet move only gets a full depth search if a shallower null window one beats alpha;
+                // nodes searched with an open window may become the principal variation and are never reduced
+                value = -negamax(position, nextDepth - LATE_MOVE_REDUCTION, -childAlpha - 1, -childAlpha, ply + 1, true);
+                searchFullWindow = value > childAlpha;
+            }
+            if (searchFullWindow && usePrincipalVariationSearch() && movesSearched > 0) {
+                // after the first move only prove the others worse, searching again if one turns out better
+                value = -negamax(position, nextDepth, -childAlpha - 1, -childAlpha, ply + 1, true);
+                searchFullWindow = value > childAlpha && value < childBeta;
+            }
+            if (searchFullWindow) {
+                value = -negamax(position, nextDepth, -childBeta, -childAlpha, ply + 1, true);
+            }
+            this.followingPrincipalVariation = false;
+            this.moveHistory.pop();
+            position.unmakeMove();
+            movesSearched++;
+            if (value > bestScore) {
+                bestScore = value;
+                bestMove = move;
+                updatePrincipalVariation(ply, move);
+            }
+            if (useAlphaBeta && bestScore >= beta) {
+                this.cutOffsProduced++;
+                if (isQuiet(move) && useQuietMoveOrdering()) {
+                    this.historyHeuristic.update(alliance, bestMove, ply, depth);
+                }
+                if (useTranspositionTable) {
+                    storeEntry(zobristKey, depth, sign, bestScore, alpha, beta, bestMove);
+                }
+                return beta;
+            }
+        }
+        // checkmate or stalemate: the evaluator scores the end of the game
+        if (movesSearched == 0) {
+            return evaluate(position, depth);
+        }
+        if (useTranspositionTable) {
+            storeEntry(zobristKey, depth, sign, bestScore, alpha, beta, bestMove);
+        }
+        return bestScore;
+    }
+
+    private int evaluate(final SearchPosition position,
+                         final int depth) {
+        this.boardsEvaluated++;
+        return sign(position) * this.evaluator.evaluate(position.toBoard(), Math.max(depth, 0));
+    }
+
+    // configured order with the quiet moves reordered by earlier cutoffs, then the table's best move
+    // first, unless the node is on the last iteration's principal variation and that move goes first
+    private MoveList orderMoves(final SearchPosition position,
+                                final int ply,
+                                final long entry) {
+        final MoveList moves = this.moveBuffers[ply];
+        moves.clear();
+        position.generateMoves(moves);
+        this.config.getMoveSorter().sort(position, moves, this.moveScores);
+        if (useQuietMoveOrdering()) {
+            orderQuietMoves(moves, position.getSideToMove(), ply);
+        }
+        moves.moveToFront(TranspositionTable.bestMove(entry));
+        if (this.followingPrincipalVariation && ply < this.principalVariation.length) {
+            moves.moveToFront(this.principalVariation[ply]);
+        }
+        return moves;
+    }
+
+    private boolean usePrincipalVariationSearch() {
+        return this.config.useAlphaBeta() && this.config.usePrincipalVariationSearch();
+    }
+
+    // the line of this ply is its best move followed by the line of the reply
+    private void updatePrincipalVariation(final int ply,
+                                          final int move) {
+        final int[] line = this.pvTable[ply];
+        line[ply] = move;
+        final int childLength = Math.max(this.pvLength[ply + 1], ply + 1);
+        System.arraycopy(this.pvTable[ply + 1], ply + 1, line, ply + 1, childLength - ply - 1);
+        this.pvLength[ply] = childLength;
+    }
+
+    private String principalVariationToString() {
+        final StringBuilder builder = new StringBuilder();
+        for (final int move : this.principalVariation) {
+            builder.append(builder.length() == 0 ? "" : " ").append(PackedMove.toString(move));
+        }
+        return builder.toString();
+    }
+
+    private boolean useQuietMoveOrdering() {
+        return this.config.useKillerMoves() || this.config.useHistoryHeuristic();
+    }
+
+    // the quiet moves swapped around among their own places in the list, killer moves first and then by
+    // history score; captures and castling keep the places the move sorter gave them
+    private void orderQuietMoves(final MoveList moves,
+                                 final Alliance alliance,
+                                 final int ply) {
+        int numQuietMoves = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            if (isQuiet(move) && !PackedMove.isCastle(move)) {
+                // kept in order of score as they come, later moves after earlier ones of the same score
+                final int score = quietMoveScore(alliance, move, ply);
+                int j = numQuietMoves - 1;
+                while (j >= 0 && this.quietScores[j] < score) {
+                    this.quietMoves[j + 1] = this.quietMoves[j];
+                    this.quietScores[j + 1] = this.quietScores[j];
+                    j--;
+                }
+                this.quietMoves[j + 1] = move;
+                this.quietScores[j + 1] = score;
+                numQuietMoves++;
+            }
+        }
+        int next = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            if (isQuiet(moves.get(i)) && !PackedMove.isCastle(moves.get(i))) {
+                moves.set(i, this.quietMoves[next++]);
+            }
+        }
+    }
+
+    private int quietMoveScore(final Alliance alliance,
+                               final int move,
+                               final int ply) {
+        if (this.config.useKillerMoves()) {
+            final int killerRank = this.historyHeuristic.getKillerRank(ply, move);
+            if (killerRank != HistoryHeuristic.NO_KILLER_MOVE) {
+                return KILLER_MOVE_SCORE - killerRank;
+            }
+        }
+        return this.config.useHistoryHeuristic() ? this.historyHeuristic.getHistoryScore(alliance, move) : 0;
+    }
+
+    // the table keeps white's point of view, so scores and windows of black nodes are flipped
+    private void storeEntry(final long zobristKey,
+                            final int depth,
+                            final int sign,
+                            final int score,
+                            final int alpha,
+                            final int beta,
+                            final int bestMove) {
+        this.transpositionTable.store(zobristKey, depth, sign * score,
+                whiteHighest(sign, alpha, beta), whiteLowest(sign, alpha, beta), bestMove);
+    }
+
+    private static int whiteHighest(final int sign,
+                                    final int alpha,
+                                    final int beta) {
+        return sign > 0 ? alpha : -beta;
+    }
+
+    private static int whiteLowest(final int sign,
+                                   final int alpha,
+                                   final int beta) {
+        return sign > 0 ? beta : -alpha;
+    }
+
+    private static int sign(final SearchPosition position) {
+        return position.getSideToMove().isWhite() ? 1 : -1;
+    }
+
+    private static boolean isQuiet(final int move) {
+        return !PackedMove.isCapture(move) && !PackedMove.isPromotion(move);
+    }
+
+    // null move pruning is unsound in pawn endings, where passing can be the only good move
+    private static boolean hasPiecesBesidesPawns(final SearchPosition position) {
+        final Alliance alliance = position.getSideToMove();
+        return (position.getOccupancy(alliance) &
+                ~position.getPieceBitBoard(alliance, PieceType.PAWN) &
+                ~position.getPieceBitBoard(alliance, PieceType.KING)) != 0L;
+    }
+
+    private static String calculateTimeTaken(final long start, final long end) {
+        final long timeTaken = (end - start) / 1000000;
+        return timeTaken + " ms";
+    }
+
+    private static class RootResult {
+        final Move bestMove;
+        final int score;
+
+        RootResult(final Move bestMove,
+                   final int score) {
+            this.bestMove = bestMove;
+            this.score = score;
+        }
+    }
+
+}
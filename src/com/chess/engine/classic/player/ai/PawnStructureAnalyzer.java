@@ -1,12 +1,10 @@
 package com.chess.engine.classic.player.ai;
 
-import com.chess.engine.classic.pieces.Piece;
+import com.chess.engine.classic.board.BitBoards;
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.pieces.Piece.PieceType;
 import com.chess.engine.classic.player.Player;
-import com.google.common.collect.ImmutableList;
-
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
 
 
 public final class PawnStructureAnalyzer {
@@ -25,33 +23,22 @@ public final class PawnStructureAnalyzer {
 
 
 //    public int isolatedPawnPenalty(final Player player) {
-//        return calculateIsolatedPawnPenalty(createPawnColumnTable(calculatePlayerPawns(player)));
+//        return calculateIsolatedPawnPenalty(createPawnColumnTable(board.getPieceBitBoard(player.getAlliance(), PieceType.PAWN)));
 //    }
 //
 //    public int doubledPawnPenalty(final Player player) {
-//        return calculatePawnColumnStack(createPawnColumnTable(calculatePlayerPawns(player)));
+//        return calculatePawnColumnStack(createPawnColumnTable(board.getPieceBitBoard(player.getAlliance(), PieceType.PAWN)));
 //    }
 
 
     //total pawn score in board
-    public int pawnStructureScore(final Player player) {
-        final int[] pawnsOnColumnTable = createPawnColumnTable(calculatePlayerPawns(player));
+    public int pawnStructureScore(final Board board,
+                                  final Player player) {
+        final int[] pawnsOnColumnTable = createPawnColumnTable(board.getPieceBitBoard(player.getAlliance(), PieceType.PAWN));
         return calculatePawnColumnStack(pawnsOnColumnTable) + calculateIsolatedPawnPenalty(pawnsOnColumnTable);
     }
 
 
-    //return list of active pawns in board
-    private static Collection<Piece> calculatePlayerPawns(final Player player) {
-        final List<Piece> playerPawnLocations = new ArrayList<>(8);
-        for(final Piece piece : player.getActivePieces()) {
-            if(piece.getPieceType().isPawn()) {
-                playerPawnLocations.add(piece);
-            }
-        }
-        return ImmutableList.copyOf(playerPawnLocations);
-    }
-
-
     //rate double of pawn in board
     private static int calculatePawnColumnStack(final int[] pawnsOnColumnTable) {
         int pawnStackPenalty = 0;
@@ -82,11 +69,11 @@ public final class PawnStructureAnalyzer {
     }
 
 
-    //number of pawn in each column
-    private static int[] createPawnColumnTable(final Collection<Piece> playerPawns) {
-        final int[] table = new int[8];
-        for(final Piece playerPawn : playerPawns) {
-            table[playerPawn.getPiecePosition() % 8]++;
+    //number of pawn in each column, counted from the pawn bitboard
+    private static int[] createPawnColumnTable(final long playerPawns) {
+        final int[] table = new int[BoardUtils.NUM_TILES_PER_ROW];
+        for(int i = 0; i < table.length; i++) {
+            table[i] = BitBoards.count(playerPawns & BitBoards.columnMask(i));
         }
         return table;
     }
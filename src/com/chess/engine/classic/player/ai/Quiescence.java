@@ -0,0 +1,190 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.board.BitBoards;
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.MoveList;
+import com.chess.engine.classic.board.MoveUtils;
+import com.chess.engine.classic.board.PackedMove;
+import com.chess.engine.classic.board.SearchPosition;
+import com.chess.engine.classic.pieces.Piece.PieceType;
+
+import static com.chess.engine.classic.board.BoardUtils.mvvlva;
+
+/*
+ * Search of the captures and promotions left at the leaves of a strategy's
+ * search, so that a leaf is only scored once it is quiet. The side to move
+ * may stand pat on the evaluation instead of capturing, except in check
+ * where every evasion is searched. Captures that lose material by static
+ * exchange evaluation are not searched. Scores are from the point of view of the
+ * side to move, like inside NegamaxSearch. Moves are made and taken back on
+ * the search's SearchPosition; a Board is only built for a node that is
+ * scored, since the evaluator reads it.
+ */
+public final class Quiescence {
+
+    private static final int MAX_QUIESCENCE_PLY = 16;
+    // what positional terms can add on top of the material a capture wins
+    private static final int DELTA_MARGIN = 200;
+
+    private final BoardEvaluator evaluator;
+    // per ply: the moves in search order and, for captures and promotions, their exchange and MVV-LVA scores
+    private final MoveList[] moveBuffers;
+    private final int[][] exchangeScores;
+    private final int[][] mvvlvaScores;
+    private long boardsEvaluated;
+    private long nodesSearched;
+
+    public Quiescence() {
+        this(StandardBoardEvaluator.get());
+    }
+
+    public Quiescence(final BoardEvaluator evaluator) {
+        this.evaluator = evaluator;
+        this.moveBuffers = new MoveList[MAX_QUIESCENCE_PLY];
+        this.exchangeScores = new int[MAX_QUIESCENCE_PLY][];
+        this.mvvlvaScores = new int[MAX_QUIESCENCE_PLY][];
+        for (int ply = 0; ply < MAX_QUIESCENCE_PLY; ply++) {
+            this.moveBuffers[ply] = new MoveList();
+            this.exchangeScores[ply] = new int[MoveList.MAX_MOVES];
+            this.mvvlvaScores[ply] = new int[MoveList.MAX_MOVES];
+        }
+        this.boardsEvaluated = 0;
+        this.nodesSearched = 0;
+    }
+
+    public long getNumBoardsEvaluated() {
+        return this.boardsEvaluated;
+    }
+
+    public long getNumNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    // the position is left as it was found
+    public int search(final SearchPosition position,
+                      final int alpha,
+                      final int beta) {
+        return search(position, alpha, beta, 0);
+    }
+
+    private int search(final SearchPosition position,
+                       final int alpha,
+                       final int beta,
+                       final int ply) {
+        this.nodesSearched++;
+        final boolean isInCheck = position.isInCheck();
+        int bestScore = alpha;
+        int standPat = 0;
+        if (!isInCheck || ply == MAX_QUIESCENCE_PLY) {
+            final Board board = position.toBoard();
+            if (BoardUtils.isEndGame(board)) {
+                return evaluate(board);
+            }
+            standPat = evaluate(board);
+            if (standPat >= beta || ply == MAX_QUIESCENCE_PLY) {
+                return Math.min(standPat, beta);
+            }
+            bestScore = Math.max(bestScore, standPat);
+        } else if (position.getHalfmoveClock() >= Board.FIFTY_MOVE_RULE_PLIES) {
+            return evaluate(position.toBoard());
+        }
+        final MoveList moves = this.moveBuffers[ply];
+        moves.clear();
+        if (isInCheck) {
+            position.generateMoves(moves);
+            boolean hasLegalMove = false;
+            for (int i = 0; i < moves.size(); i++) {
+                if (!position.makeMove(moves.get(i))) {
+                    continue;
+                }
+                hasLegalMove = true;
+                final int value = -search(position, -beta, -bestScore, ply + 1);
+                position.unmakeMove();
+                if (value > bestScore) {
+                    bestScore = value;
+                }
+                if (bestScore >= beta) {
+                    return beta;
+                }
+            }
+            // checkmate
+            return hasLegalMove ? bestScore : evaluate(position.toBoard());
+        }
+        capturesAndPromotions(position, ply);
+        final int[] exchanges = this.exchangeScores[ply];
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            if (!PackedMove.isPromotion(move)) {
+                // delta pruning: not even winning the captured piece would bring the score up to alpha
+                if (standPat + capturedValue(position, move) + DELTA_MARGIN <= bestScore) {
+                    continue;
+                }
+                // the exchange the capture starts loses material
+                if (exchanges[i] < 0) {
+                    continue;
+                }
+            }
+            if (!position.makeMove(move)) {
+                continue;
+            }
+            final int value = -search(position, -beta, -bestScore, ply + 1);
+            position.unmakeMove();
+            if (value > bestScore) {
+                bestScore = value;
+            }
+            if (bestScore >= beta) {
+                return beta;
+            }
+        }
+        return bestScore;
+    }
+
+    // fill the ply's buffer with the captures and promotions, each scored once: the ones winning the most
+    // material once all recaptures are made first, then most valuable victim by least valuable attacker
+    private void capturesAndPromotions(final SearchPosition position,
+                                       final int ply) {
+        final MoveList generated = this.moveBuffers[ply];
+        position.generateMoves(generated);
+        final int numGenerated = generated.size();
+        generated.clear();
+        final int[] exchanges = this.exchangeScores[ply];
+        final int[] victims = this.mvvlvaScores[ply];
+        for (int i = 0; i < numGenerated; i++) {
+            // the kept moves are written back over the buffer, never past the move being read
+            final int move = generated.get(i);
+            if (!PackedMove.isCapture(move) && !PackedMove.isPromotion(move)) {
+                continue;
+            }
+            final int exchange = MoveUtils.see(position, move);
+            final int victim = mvvlva(position, move);
+            // insertion sort, keeping the generated order among equal scores
+            int j = generated.size() - 1;
+            generated.add(move);
+            while (j >= 0 && (exchanges[j] < exchange || (exchanges[j] == exchange && victims[j] < victim))) {
+                generated.set(j + 1, generated.get(j));
+                exchanges[j + 1] = exchanges[j];
+                victims[j + 1] = victims[j];
+                j--;
+            }
+            generated.set(j + 1, move);
+            exchanges[j + 1] = exchange;
+            victims[j + 1] = victim;
+        }
+    }
+
+    private int evaluate(final Board board) {
+        this.boardsEvaluated++;
+        final int score = this.evaluator.evaluate(board, 0);
+        return board.currentPlayer().getAlliance().isWhite() ? score : -score;
+    }
+
+    private static int capturedValue(final SearchPosition position,
+                                     final int move) {
+        if (PackedMove.isEnPassant(move)) {
+            return PieceType.PAWN.getPieceValue();
+        }
+        return BitBoards.pieceType(position.getPieceIndex(PackedMove.to(move))).getPieceValue();
+    }
+
+}
@@ -1,20 +1,15 @@
 package com.chess.engine.classic.player.ai;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import com.chess.engine.classic.board.BitBoards;
 import com.chess.engine.classic.board.Board;
 import com.chess.engine.classic.board.BoardUtils;
-import com.chess.engine.classic.pieces.Piece;
+import com.chess.engine.classic.pieces.Piece.PieceType;
 import com.chess.engine.classic.player.Player;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableList.Builder;
 
 
 public final class RookStructureAnalyzer {
 
     private static final RookStructureAnalyzer INSTANCE = new RookStructureAnalyzer();
-    private static final  List<List<Boolean>> BOARD_COLUMNS = initColumns();
     private static final int OPEN_COLUMN_ROOK_BONUS = 25;
     private static final int NO_BONUS = 0;
 
@@ -25,66 +20,35 @@ public final class RookStructureAnalyzer {
         return INSTANCE;
     }
 
-    //create board bool
-    private static  List<List<Boolean>> initColumns() {
-        final List<List<Boolean>> columns = new ArrayList<>();
-        columns.add(BoardUtils.INSTANCE.FIRST_COLUMN);
-        columns.add(BoardUtils.INSTANCE.SECOND_COLUMN);
-        columns.add(BoardUtils.INSTANCE.THIRD_COLUMN);
-        columns.add(BoardUtils.INSTANCE.FOURTH_COLUMN);
-        columns.add(BoardUtils.INSTANCE.FIFTH_COLUMN);
-        columns.add(BoardUtils.INSTANCE.SIXTH_COLUMN);
-        columns.add(BoardUtils.INSTANCE.SEVENTH_COLUMN);
-        columns.add(BoardUtils.INSTANCE.EIGHTH_COLUMN);
-        return ImmutableList.copyOf(columns);
-    }
-
     //calcu rook bounsScore for sb player
     public int rookStructureScore(final Board board,
                                   final Player player) {
-        final List<Integer> rookLocations = calculateRookLocations(player);
+        final long rookLocations = board.getPieceBitBoard(player.getAlliance(), PieceType.ROOK);
         return calculateOpenFileRookBonus(board, rookLocations);
     }
 
 
-    //calcu numb of rook in board for sb player
-    private static List<Integer> calculateRookLocations(final Player player) {
-        final Builder<Integer> playerRookLocations = new Builder<>();
-        for(final Piece piece : player.getActivePieces()) {
-            if(piece.getPieceType().isRook()) {
-                playerRookLocations.add(piece.getPiecePosition());
-            }
-        }
-        return playerRookLocations.build();
-    }
-
-
-    //calcu rook bounsScore
+    //calcu rook bounsScore, walking the rook bitboard
     private static int calculateOpenFileRookBonus(final Board board,
-                                                  final List<Integer> rookLocations) {
+                                                  final long rookLocations) {
         int bonus = NO_BONUS;
-        for(final Integer rookLocation : rookLocations) {
-            final int[] piecesOnColumn = createPiecesOnColumnTable(board);
-            final int rookColumn = rookLocation/8;
-            for(int i = 0; i < piecesOnColumn.length; i++) {
-                if(piecesOnColumn[i] == 1 && i == rookColumn){
-                    bonus += OPEN_COLUMN_ROOK_BONUS;
-                }
-
+        final int[] piecesOnColumn = createPiecesOnColumnTable(board);
+        long remaining = rookLocations;
+        while(remaining != 0L) {
+            final int rookColumn = BitBoards.firstSquare(remaining) % BoardUtils.NUM_TILES_PER_ROW;
+            if(piecesOnColumn[rookColumn] == 1) {
+                bonus += OPEN_COLUMN_ROOK_BONUS;
             }
+            remaining = BitBoards.popFirstSquare(remaining);
         }
         return bonus;
     }
 
     //nub of pieces in each column
     private static int[] createPiecesOnColumnTable(final Board board) {
-        final int[] piecesOnColumnTable = new int[BOARD_COLUMNS.size()];
-        for(final Piece piece : board.getAllPieces()) {
-            for(int i = 0 ; i < BOARD_COLUMNS.size(); i++) {
-                if(BOARD_COLUMNS.get(i).get(piece.getPiecePosition())) {
-                    piecesOnColumnTable[i]++;
-                }
-            }
+        final int[] piecesOnColumnTable = new int[BoardUtils.NUM_TILES_PER_ROW];
+        for(int i = 0 ; i < piecesOnColumnTable.length; i++) {
+            piecesOnColumnTable[i] = BitBoards.count(board.getOccupancy() & BitBoards.columnMask(i));
         }
         return piecesOnColumnTable;
     }
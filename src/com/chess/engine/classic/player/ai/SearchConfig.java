@@ -0,0 +1,196 @@
+package com.chess.engine.classic.player.ai;
+
+/*
+ * The features a NegamaxSearch runs with. Every strategy is one of these
+ * configurations of the same search, so two strategies differ only in the
+ * flags below and can be compared feature by feature.
+ */
+public final class SearchConfig {
+
+    private final boolean alphaBeta;
+    private final boolean transpositionTable;
+    private final boolean quiescence;
+    private final boolean principalVariationSearch;
+    private final boolean nullMove;
+    private final boolean lateMoveReductions;
+    private final boolean killerMoves;
+    private final boolean historyHeuristic;
+    private final boolean aspirationWindows;
+    private final boolean iterativeDeepening;
+    private final boolean makeUnmake;
+    private final MoveSorter rootMoveSorter;
+    private final MoveSorter moveSorter;
+
+    private SearchConfig(final Builder builder) {
+        this.alphaBeta = builder.alphaBeta;
+        this.transpositionTable = builder.transpositionTable;
+        this.quiescence = builder.quiescence;
+        this.principalVariationSearch = builder.principalVariationSearch;
+        this.nullMove = builder.nullMove;
+        this.lateMoveReductions = builder.lateMoveReductions;
+        this.killerMoves = builder.killerMoves;
+        this.historyHeuristic = builder.historyHeuristic;
+        this.aspirationWindows = builder.aspirationWindows;
+        this.iterativeDeepening = builder.iterativeDeepening;
+        this.makeUnmake = builder.makeUnmake;
+        this.rootMoveSorter = builder.rootMoveSorter;
+        this.moveSorter = builder.moveSorter;
+    }
+
+    // without it every node is searched with the full window, as plain minimax
+    public boolean useAlphaBeta() {
+        return this.alphaBeta;
+    }
+
+    public boolean useTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    // leaves searched on through their captures and promotions, see Quiescence
+    public boolean useQuiescence() {
+        return this.quiescence;
+    }
+
+    // every move after the first searched with a null window first, and again in full if it beats alpha
+    public boolean usePrincipalVariationSearch() {
+        return this.principalVariationSearch;
+    }
+
+    public boolean useNullMove() {
+        return this.nullMove;
+    }
+
+    public boolean useLateMoveReductions() {
+        return this.lateMoveReductions;
+    }
+
+    // quiet moves that caused a cutoff at the same ply tried before the other quiet moves
+    public boolean useKillerMoves() {
+        return this.killerMoves;
+    }
+
+    // quiet moves ordered by how often their from and to tiles caused cutoffs, see HistoryHeuristic
+    public boolean useHistoryHeuristic() {
+        return this.historyHeuristic;
+    }
+
+    // only used between the iterations of an iterative deepening search
+    public boolean useAspirationWindows() {
+        return this.aspirationWindows;
+    }
+
+    public boolean useIterativeDeepening() {
+        return this.iterativeDeepening;
+    }
+
+    // search below the root on one mutable SearchBoard instead of a Board per node; the other options apply to both
+    public boolean useMakeUnmake() {
+        return this.makeUnmake;
+    }
+
+    public MoveSorter getRootMoveSorter() {
+        return this.rootMoveSorter;
+    }
+
+    public MoveSorter getMoveSorter() {
+        return this.moveSorter;
+    }
+
+    @Override
+    public String toString() {
+        return "[alphaBeta=" +this.alphaBeta+ " tt=" +this.transpositionTable+ " quiescence=" +this.quiescence+
+               " pvs=" +this.principalVariationSearch+ " nullMove=" +this.nullMove+ " lmr=" +this.lateMoveReductions+
+               " killers=" +this.killerMoves+ " history=" +this.historyHeuristic+ " aspiration=" +this.aspirationWindows+
+               " id=" +this.iterativeDeepening+ " makeUnmake=" +this.makeUnmake+
+               " order=" +this.rootMoveSorter+ "/" +this.moveSorter+ "]";
+    }
+
+    // alpha-beta on, every other feature off until set
+    public static class Builder {
+
+        boolean alphaBeta = true;
+        boolean transpositionTable;
+        boolean quiescence;
+        boolean principalVariationSearch;
+        boolean nullMove;
+        boolean lateMoveReductions;
+        boolean killerMoves;
+        boolean historyHeuristic;
+        boolean aspirationWindows;
+        boolean iterativeDeepening;
+        boolean makeUnmake;
+        MoveSorter rootMoveSorter = MoveSorter.NONE;
+        MoveSorter moveSorter = MoveSorter.NONE;
+
+        public Builder setAlphaBeta(final boolean alphaBeta) {
+            this.alphaBeta = alphaBeta;
+            return this;
+        }
+
+        public Builder setTranspositionTable(final boolean transpositionTable) {
+            this.transpositionTable = transpositionTable;
+            return this;
+        }
+
+        public Builder setQuiescence(final boolean quiescence) {
+            this.quiescence = quiescence;
+            return this;
+        }
+
+        public Builder setPrincipalVariationSearch(final boolean principalVariationSearch) {
+            this.principalVariationSearch = principalVariationSearch;
+            return this;
+        }
+
+        public Builder setNullMove(final boolean nullMove) {
+            this.nullMove = nullMove;
+            return this;
+        }
+
+        public Builder setLateMoveReductions(final boolean lateMoveReductions) {
+            this.lateMoveReductions = lateMoveReductions;
+            return this;
+        }
+
+        public Builder setKillerMoves(final boolean killerMoves) {
+            this.killerMoves = killerMoves;
+            return this;
+        }
+
+        public Builder setHistoryHeuristic(final boolean historyHeuristic) {
+            this.historyHeuristic = historyHeuristic;
+            return this;
+        }
+
+        public Builder setAspirationWindows(final boolean aspirationWindows) {
+            this.aspirationWindows = aspirationWindows;
+            return this;
+        }
+
+        public Builder setIterativeDeepening(final boolean iterativeDeepening) {
+            this.iterativeDeepening = iterativeDeepening;
+            return this;
+        }
+
+        public Builder setMakeUnmake(final boolean makeUnmake) {
+            this.makeUnmake = makeUnmake;
+            return this;
+        }
+
+        public Builder setRootMoveSorter(final MoveSorter rootMoveSorter) {
+            this.rootMoveSorter = rootMoveSorter;
+            return this;
+        }
+
+        public Builder setMoveSorter(final MoveSorter moveSorter) {
+            this.moveSorter = moveSorter;
+            return this;
+        }
+
+        public SearchConfig build() {
+            return new SearchConfig(this);
+        }
+
+    }
+
+}
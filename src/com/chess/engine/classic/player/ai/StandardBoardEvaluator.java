@@ -1,8 +1,11 @@
 package com.chess.engine.classic.player.ai;
 
+import com.chess.engine.classic.Alliance;
+import com.chess.engine.classic.board.BitBoards;
 import com.chess.engine.classic.board.Board;
 import com.chess.engine.classic.board.Move;
 import com.chess.engine.classic.pieces.Piece;
+import com.chess.engine.classic.pieces.Piece.PieceType;
 import com.chess.engine.classic.player.Player;
 import com.chess.engine.classic.player.ai.KingSafetyAnalyzer.KingDistance;
 import com.google.common.annotations.VisibleForTesting;
@@ -30,19 +33,20 @@ public final class StandardBoardEvaluator
     @Override
     public int evaluate(final Board board,
                         final int depth) {
-        return score(board.whitePlayer(), depth) - score(board.blackPlayer(), depth);
+        return score(board, board.whitePlayer(), depth) - score(board, board.blackPlayer(), depth);
     }
 
     //to calcu all score
     @VisibleForTesting
-    private static int score(final Player player,
+    private static int score(final Board board,
+                             final Player player,
                              final int depth) {
         return mobility(player) +
                kingThreats(player, depth) +
                attacks(player) +
                castle(player) +
-               pieceEvaluations(player) +
-               pawnStructure(player);
+               pieceEvaluations(board, player) +
+               pawnStructure(board, player);
     }
 
 
@@ -61,17 +65,14 @@ public final class StandardBoardEvaluator
         return attackScore * ATTACK_MULTIPLIER;
     }
 
-    //to evaluate pieces value
-    private static int pieceEvaluations(final Player player) {
-        int pieceValuationScore = 0;
-        int numBishops = 0;
-        for (final Piece piece : player.getActivePieces()) {
-            pieceValuationScore += piece.getPieceValue() + piece.locationBonus();
-            if(piece.getPieceType().isBishop()) {
-                numBishops++;
-            }
-        }
-        return pieceValuationScore + (numBishops == 2 ? TWO_BISHOPS_BONUS : 0);
+    //to evaluate pieces value, from the totals the board keeps as pieces move
+    private static int pieceEvaluations(final Board board,
+                                        final Player player) {
+        final Alliance alliance = player.getAlliance();
+        final int numBishops = BitBoards.count(board.getPieceBitBoard(alliance, PieceType.BISHOP));
+        return board.getMaterial(alliance) +
+               board.getPieceSquareScore(alliance) +
+               (numBishops == 2 ? TWO_BISHOPS_BONUS : 0);
     }
 
 
@@ -110,8 +111,9 @@ public final class StandardBoardEvaluator
 
 
     //return number of pawn in sb column
-    private static int pawnStructure(final Player player) {
-        return PawnStructureAnalyzer.get().pawnStructureScore(player);
+    private static int pawnStructure(final Board board,
+                                     final Player player) {
+        return PawnStructureAnalyzer.get().pawnStructureScore(board, player);
     }
 
 
@@ -1,211 +1,44 @@
 package com.chess.engine.classic.player.ai;
 
-import com.chess.engine.classic.board.Board;
-import com.chess.engine.classic.board.BoardUtils;
-import com.chess.engine.classic.board.Move;
-import com.chess.engine.classic.board.MoveTransition;
-import com.chess.engine.classic.player.Player;
-import com.google.common.collect.ComparisonChain;
-import com.google.common.collect.Ordering;
-
-import java.util.Collection;
-import java.util.Comparator;
-import java.util.Observable;
-
-import static com.chess.engine.classic.board.BoardUtils.mvvlva;
-import static com.chess.engine.classic.board.Move.MoveFactory;
-
-public class StockAlphaBeta extends Observable implements MoveStrategy {
-
-    private final BoardEvaluator evaluator;
-    private final int searchDepth;
-    private long boardsEvaluated;
-    private long executionTime;
-    private int quiescenceCount;
-    private static final int MAX_QUIESCENCE = 5000*10;
-
-    private enum MoveSorter {
-
-        STANDARD {
-            @Override
-            Collection<Move> sort(final Collection<Move> moves) {
-                return Ordering.from( (Comparator<Move>) (move1, move2) -> ComparisonChain.start()
-                        .compareTrueFirst(move1.isCastlingMove(), move2.isCastlingMove())
-                        .compare(mvvlva(move2), mvvlva(move1))
-                        .result()).immutableSortedCopy(moves);
-            }
-        },
-        EXPENSIVE {
-            @Override
-            Collection<Move> sort(final Collection<Move> moves) {
-                return Ordering.from( (Comparator<Move>) (move1, move2) -> ComparisonChain.start()
-                        .compareTrueFirst(BoardUtils.kingThreat(move1), BoardUtils.kingThreat(move2))
-                        .compareTrueFirst(move1.isCastlingMove(), move2.isCastlingMove())
-                        .compare(mvvlva(move2), mvvlva(move1))
-                        .result()).immutableSortedCopy(moves);
-            }
-        };
-
-        abstract  Collection<Move> sort(Collection<Move> moves);
-    }
-
+/*
+ * Alpha-beta with the transposition table and a quiescence search at the
+ * leaves, checking moves first at the root and captures by MVV-LVA below
+ * it, then killer moves and quiet moves by their history.
+ */
+public class StockAlphaBeta extends NegamaxSearch {
 
     public StockAlphaBeta(final int searchDepth) {
-        this.evaluator = StandardBoardEvaluator.get();
-        this.searchDepth = searchDepth;
-        this.boardsEvaluated = 0;
-        this.quiescenceCount = 0;
-    }
-
-    @Override
-    public String toString() {
-        return "StockAlphaBeta";
-    }
-
-    @Override
-    public long getNumBoardsEvaluated() {
-        return this.boardsEvaluated;
+        this(searchDepth, false);
     }
 
-    @Override
-    public Move execute(final Board board) {
-        final long startTime = System.currentTimeMillis();
-        final Player currentPlayer = board.currentPlayer();
-        Move bestMove = MoveFactory.getNullMove();
-        int alphaValue = Integer.MIN_VALUE;
-        int betaValue = Integer.MAX_VALUE;
-        int currentValue;
-        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.searchDepth);
-        int moveCounter = 1;
-        int numMoves = board.currentPlayer().getLegalMoves().size();
-
-        for (final Move move : MoveSorter.EXPENSIVE.sort((board.currentPlayer().getLegalMoves()))) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            this.quiescenceCount = 0;
-            final String s;
-            if (moveTransition.getMoveStatus().isDone()) {
-                final long candidateMoveStartTime = System.nanoTime();
-                currentValue = currentPlayer.getAlliance().isWhite() ?
-                        min(moveTransition.getToBoard(), this.searchDepth - 1, alphaValue, betaValue) :
-                        max(moveTransition.getToBoard(), this.searchDepth - 1, alphaValue, betaValue);
-                if (currentPlayer.getAlliance().isWhite() && currentValue > alphaValue) {
-                    alphaValue = currentValue;
-                    bestMove = move;
-                    if(moveTransition.getToBoard().blackPlayer().isInCheckMate()) {
-                        break;
-                    }
-                }
-                else if (currentPlayer.getAlliance().isBlack() && currentValue < betaValue) {
-                    betaValue = currentValue;
-                    bestMove = move;
-                    if(moveTransition.getToBoard().whitePlayer().isInCheckMate()) {
-                        break;
-                    }
-                }
-
-                final String quiescenceInfo = " " + score(currentPlayer, alphaValue, betaValue) + " q: " +this.quiescenceCount;
-                s = "\t" + toString() + "(" +this.searchDepth+ "), m: (" +moveCounter+ "/" +numMoves+ ") " + move + ", best:  " + bestMove
-
-                        + quiescenceInfo + ", t: " +calculateTimeTaken(candidateMoveStartTime, System.nanoTime());
-            } else {
-                s = "\t" + toString() + ", m: (" +moveCounter+ "/" +numMoves+ ") " + move + " is illegal! best: " +bestMove;
-            }
-            System.out.println(s);
-            setChanged();
-            notifyObservers(s);
-            moveCounter++;
-        }
-
-        this.executionTime = System.currentTimeMillis() - startTime;
-        final String result = board.currentPlayer() + " SELECTS " +bestMove+ " [#boards evaluated = " +this.boardsEvaluated+
-                " time taken = " +this.executionTime/1000+ " rate = " +(1000 * ((double)this.boardsEvaluated/this.executionTime));
-        System.out.printf("%s SELECTS %s [#boards evaluated = %d, time taken = %d ms, rate = %.1f\n", board.currentPlayer(),
-                bestMove, this.boardsEvaluated, this.executionTime, (1000 * ((double)this.boardsEvaluated/this.executionTime)));
-        setChanged();
-        notifyObservers(result);
-        return bestMove;
+    // makeUnmake searches below the root on one mutable SearchBoard instead of a Board per node
+    public StockAlphaBeta(final int searchDepth,
+                          final boolean makeUnmake) {
+        this(searchDepth, makeUnmake, new TranspositionTable());
     }
 
-    //
-    private static String score(final Player currentPlayer,
-                                final int highestSeenValue,
-                                final int lowestSeenValue) {
-
-        if(currentPlayer.getAlliance().isWhite()) {
-            return "[score: " +highestSeenValue + "]";
-        } else if(currentPlayer.getAlliance().isBlack()) {
-            return "[score: " +lowestSeenValue+ "]";
-        }
-        throw new RuntimeException("bad bad boy!");
+    // strategies searching in parallel may share one transposition table
+    public StockAlphaBeta(final int searchDepth,
+                          final boolean makeUnmake,
+                          final TranspositionTable transpositionTable) {
+        super(searchDepth, config(makeUnmake), transpositionTable);
     }
 
-    private int max(final Board board,
-                    final int depth,
-                    final int highest,
-                    final int lowest) {
-        if (depth == 0 || BoardUtils.isEndGame(board)) {
-            this.boardsEvaluated++;
-            return this.evaluator.evaluate(board, depth);
-        }
-        int currentHighest = highest;
-        for (final Move move : MoveSorter.STANDARD.sort((board.currentPlayer().getLegalMoves()))) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                currentHighest = Math.max(currentHighest, min(moveTransition.getToBoard(),
-                        calculateQuiescenceDepth(moveTransition, depth), currentHighest, lowest));
-                if (currentHighest >= lowest) {
-                    return lowest;
-                }
-            }
-        }
-        return currentHighest;
+    static SearchConfig config(final boolean makeUnmake) {
+        return new SearchConfig.Builder()
+                .setTranspositionTable(true)
+                .setQuiescence(true)
+                .setKillerMoves(true)
+                .setHistoryHeuristic(true)
+                .setMakeUnmake(makeUnmake)
+                .setRootMoveSorter(MoveSorter.EXPENSIVE)
+                .setMoveSorter(MoveSorter.STANDARD)
+                .build();
     }
 
-    private int min(final Board board,
-                    final int depth,
-                    final int highest,
-                    final int lowest) {
-        if (depth == 0 || BoardUtils.isEndGame(board)) {
-            this.boardsEvaluated++;
-            return this.evaluator.evaluate(board, depth);
-        }
-        int currentLowest = lowest;
-        for (final Move move : MoveSorter.STANDARD.sort((board.currentPlayer().getLegalMoves()))) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                currentLowest = Math.min(currentLowest, max(moveTransition.getToBoard(),
-                        calculateQuiescenceDepth(moveTransition, depth), highest, currentLowest));
-                if (currentLowest <= highest) {
-                    return highest;
-                }
-            }
-        }
-        return currentLowest;
-    }
-
-    private int calculateQuiescenceDepth(final MoveTransition moveTransition,
-                                         final int depth) {
-        if(depth == 1 && this.quiescenceCount < MAX_QUIESCENCE) {
-            int activityMeasure = 0;
-            if (moveTransition.getToBoard().currentPlayer().isInCheck()) {
-                activityMeasure += 1;
-            }
-            for(final Move move: BoardUtils.lastNMoves(moveTransition.getToBoard(), 2)) {
-                if(move.isAttack()) {
-                    activityMeasure += 1;
-                }
-            }
-            if(activityMeasure >= 2) {
-                this.quiescenceCount++;
-                return 1;
-            }
-        }
-        return depth - 1;
-    }
-
-    private static String calculateTimeTaken(final long start, final long end) {
-        final long timeTaken = (end - start) / 1000000;
-        return timeTaken + " ms";
+    @Override
+    public String toString() {
+        return "StockAlphaBeta";
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,136 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.board.PackedMove;
+
+/*
+ * Fixed size, power of two table of search results keyed by the Board's
+ * zobrist key. Each slot is two longs: the packed entry and the key xor the
+ * entry. A slot torn by two threads writing at once fails the xor check and
+ * reads as a miss, so threads can share a table without locking.
+ *
+ * Entry layout: best move (bits 0-15, PackedMove), depth (16-23),
+ * bound (24-25), age (26-31), score (32-63). Scores are from white's point
+ * of view like the rest of the strategies.
+ */
+public final class TranspositionTable {
+
+    public static final int DEFAULT_SIZE_MB = Integer.getInteger("chess.hash.mb", 16);
+
+    public static final long NO_ENTRY = 0L;
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final int MAX_AGE = 0x3F;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int mask;
+    // written by the thread starting a search and read by every thread storing into the table
+    private volatile int age;
+
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_MB);
+    }
+
+    public TranspositionTable(final int sizeInMB) {
+        final long maxEntries = Math.max(1L, (long) sizeInMB * 1024 * 1024 / BYTES_PER_ENTRY);
+        final int numEntries = Integer.highestOneBit((int) Math.min(maxEntries, 1 << 30));
+        this.keys = new long[numEntries];
+        this.entries = new long[numEntries];
+        this.mask = numEntries - 1;
+        this.age = 0;
+    }
+
+    public int size() {
+        return this.entries.length;
+    }
+
+    // called once per search so that entries of earlier searches can be replaced first
+    public void newSearch() {
+        this.age = (this.age + 1) & MAX_AGE;
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.entries.length; i++) {
+            this.keys[i] = 0L;
+            this.entries[i] = NO_ENTRY;
+        }
+    }
+
+    // the entry stored for this key, or NO_ENTRY
+    public long probe(final long zobristKey) {
+        final int index = (int) zobristKey & this.mask;
+        final long entry = this.entries[index];
+        return entry != NO_ENTRY && (this.keys[index] ^ entry) == zobristKey ? entry : NO_ENTRY;
+    }
+
+    // the bound is worked out from the window the score was searched with
+    public void store(final long zobristKey,
+                      final int depth,
+                      final int score,
+                      final int highest,
+                      final int lowest,
+                      final int bestMove) {
+        final int index = (int) zobristKey & this.mask;
+        final int currentAge = this.age;
+        final long storedEntry = this.entries[index];
+        final boolean sameKey = storedEntry != NO_ENTRY && (this.keys[index] ^ storedEntry) == zobristKey;
+        // depth preferred: a deeper entry of the current search is only replaced by its own position
+        if (!sameKey && storedEntry != NO_ENTRY && age(storedEntry) == currentAge && depth(storedEntry) > depth) {
+            return;
+        }
+        final int bound = score <= highest ? UPPER_BOUND : score >= lowest ? LOWER_BOUND : EXACT;
+        final int move = bestMove == PackedMove.NULL_MOVE && sameKey ? bestMove(storedEntry) : bestMove;
+        final long entry = ((long) score << 32) |
+                           ((long) currentAge << 26) |
+                           ((long) bound << 24) |
+                           ((long) (depth & 0xFF) << 16) |
+                           (move & 0xFFFF);
+        this.keys[index] = zobristKey ^ entry;
+        this.entries[index] = entry;
+    }
+
+    public static int bestMove(final long entry) {
+        return (int) (entry & 0xFFFF);
+    }
+
+    public static int depth(final long entry) {
+        return (int) ((entry >>> 16) & 0xFF);
+    }
+
+    public static int bound(final long entry) {
+        return (int) ((entry >>> 24) & 0x3);
+    }
+
+    public static int age(final long entry) {
+        return (int) ((entry >>> 26) & MAX_AGE);
+    }
+
+    public static int score(final long entry) {
+        return (int) (entry >> 32);
+    }
+
+    // true if the entry was searched deep enough and its bound settles the window
+    public static boolean isUsable(final long entry,
+                                   final int depth,
+                                   final int highest,
+                                   final int lowest) {
+        if (entry == NO_ENTRY || depth(entry) < depth) {
+            return false;
+        }
+        final int score = score(entry);
+        switch (bound(entry)) {
+            case EXACT:
+                return true;
+            case LOWER_BOUND:
+                return score >= lowest;
+            case UPPER_BOUND:
+                return score <= highest;
+            default:
+                return false;
+        }
+    }
+
+}
@@ -36,7 +36,9 @@ class GameHistoryPanel extends JPanel {
               final MoveLog moveHistory) {
         int currentRow = 0;
         this.model.clear();
-        for (final Move move : moveHistory.getMoves()) {
+        // rebuilt from the log's packed moves, so ask for them once
+        final List<Move> moves = moveHistory.getMoves();
+        for (final Move move : moves) {
             final String moveText = move.toString();
             if (move.getMovedPiece().getPieceAllegiance().isWhite()) {
                 this.model.setValueAt(moveText, currentRow, 0);
@@ -47,8 +49,8 @@ class GameHistoryPanel extends JPanel {
             }
         }
 
-        if(moveHistory.getMoves().size() > 0) {
-            final Move lastMove = moveHistory.getMoves().get(moveHistory.size() - 1);
+        if(moves.size() > 0) {
+            final Move lastMove = moves.get(moves.size() - 1);
             final String moveText = lastMove.toString();
 
             if (lastMove.getMovedPiece().getPieceAllegiance().isWhite()) {
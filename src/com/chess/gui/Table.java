@@ -64,7 +64,7 @@ public final class Table extends Observable {
         this.debugPanel = new DebugPanel();
         this.takenPiecesPanel = new TakenPiecesPanel();
         this.boardPanel = new BoardPanel();
-        this.moveLog = new MoveLog();
+        this.moveLog = new MoveLog(this.chessBoard);
         this.addObserver(new TableGameAIWatcher());
         this.gameSetup = new GameSetup(this.gameFrame, true);
         this.gameFrame.add(this.takenPiecesPanel, BorderLayout.WEST);
@@ -110,6 +110,11 @@ public final class Table extends Observable {
         return this.debugPanel;
     }
 
+    // checkmate, stalemate and the draws, including repetitions of the logged moves
+    private GameStatus getGameStatus() {
+        return BoardUtils.gameStatus(this.chessBoard, this.moveLog.toMoveHistory());
+    }
+
     private GameSetup getGameSetup() {
         return this.gameSetup;
     }
@@ -355,12 +360,9 @@ public final class Table extends Observable {
     }
 
     private void undoAllMoves() {
-        for(int i = Table.get().getMoveLog().size() - 1; i >= 0; i--) {
-            final Move lastMove = Table.get().getMoveLog().removeMove(Table.get().getMoveLog().size() - 1);
-            this.chessBoard = this.chessBoard.currentPlayer().unMakeMove(lastMove).getToBoard();
-        }
-        this.computerMove = null;
         Table.get().getMoveLog().clear();
+        this.chessBoard = Table.get().getMoveLog().getCurrentBoard();
+        this.computerMove = null;
         Table.get().getGameHistoryPanel().redo(chessBoard, Table.get().getMoveLog());
         Table.get().getTakenPiecesPanel().redo(Table.get().getMoveLog());
         Table.get().getBoardPanel().drawBoard(chessBoard);
@@ -368,10 +370,9 @@ public final class Table extends Observable {
     }
 
     private void undoLastMove() {
-        final Move lastMove = Table.get().getMoveLog().removeMove(Table.get().getMoveLog().size() - 1);
-        this.chessBoard = this.chessBoard.currentPlayer().unMakeMove(lastMove).getToBoard();
+        Table.get().getMoveLog().removeLastMove();
+        this.chessBoard = Table.get().getMoveLog().getCurrentBoard();
         this.computerMove = null;
-        Table.get().getMoveLog().removeMove(lastMove);
         Table.get().getGameHistoryPanel().redo(chessBoard, Table.get().getMoveLog());
         Table.get().getTakenPiecesPanel().redo(Table.get().getMoveLog());
         Table.get().getBoardPanel().drawBoard(chessBoard);
@@ -395,26 +396,39 @@ public final class Table extends Observable {
         public void update(final Observable o,
                            final Object arg) {
 
+            final GameStatus gameStatus = Table.get().getGameStatus();
+
             if (Table.get().getGameSetup().isAIPlayer(Table.get().getGameBoard().currentPlayer()) &&
-                !Table.get().getGameBoard().currentPlayer().isInCheckMate() &&
-                !Table.get().getGameBoard().currentPlayer().isInStaleMate()) {
+                !gameStatus.isGameOver()) {
                 System.out.println(Table.get().getGameBoard().currentPlayer() + " is set to AI, thinking....");
                 final AIThinkTank thinkTank = new AIThinkTank();
                 thinkTank.execute();
             }
 
-            if (Table.get().getGameBoard().currentPlayer().isInCheckMate()) {
+            if (gameStatus == GameStatus.CHECKMATE) {
                 JOptionPane.showMessageDialog(Table.get().getBoardPanel(),
                         "Game Over: Player " + Table.get().getGameBoard().currentPlayer() + " is in checkmate!", "Game Over",
                         JOptionPane.INFORMATION_MESSAGE);
             }
 
-            if (Table.get().getGameBoard().currentPlayer().isInStaleMate()) {
+            if (gameStatus == GameStatus.STALEMATE) {
                 JOptionPane.showMessageDialog(Table.get().getBoardPanel(),
                         "Game Over: Player " + Table.get().getGameBoard().currentPlayer() + " is in stalemate!", "Game Over",
                         JOptionPane.INFORMATION_MESSAGE);
             }
 
+            if (gameStatus == GameStatus.FIFTY_MOVE_RULE) {
+                JOptionPane.showMessageDialog(Table.get().getBoardPanel(),
+                        "Game Over: draw by the fifty move rule!", "Game Over",
+                        JOptionPane.INFORMATION_MESSAGE);
+            }
+
+            if (gameStatus == GameStatus.THREEFOLD_REPETITION) {
+                JOptionPane.showMessageDialog(Table.get().getBoardPanel(),
+                        "Game Over: draw by threefold repetition!", "Game Over",
+                        JOptionPane.INFORMATION_MESSAGE);
+            }
+
         }
 
     }
@@ -457,7 +471,7 @@ public final class Table extends Observable {
 
                 strategy.addObserver(Table.get().getDebugPanel());
                 bestMove = strategy.execute(
-                        Table.get().getGameBoard());
+                        Table.get().getGameBoard(), Table.get().getMoveLog().toMoveHistory());
 
             return bestMove;
         }
@@ -555,36 +569,65 @@ public final class Table extends Observable {
 
     }
 
+    // the game as packed moves played from its first board, so that the log keeps no Board alive;
+    // positions and Move objects are rebuilt from them when needed
     public static class MoveLog {
 
-        private final List<Move> moves;
+        // more plies than the fifty-move rule lets any game last
+        private static final int MAX_GAME_PLIES = 1 << 14;
+
+        private final Board startBoard;
+        private final MoveHistory moveHistory;
 
-        MoveLog() {
-            this.moves = new ArrayList<>();
+        MoveLog(final Board startBoard) {
+            this.startBoard = startBoard;
+            this.moveHistory = new MoveHistory(MAX_GAME_PLIES);
         }
 
+        // the logged moves replayed from the first board, oldest first
         public List<Move> getMoves() {
-            return this.moves;
+            final List<Move> moves = new ArrayList<>(size());
+            Board board = this.startBoard;
+            for (int movesAgo = size() - 1; movesAgo >= 0; movesAgo--) {
+                final Move move = PackedMove.toMove(board, this.moveHistory.getMove(movesAgo));
+                moves.add(move);
+                board = board.currentPlayer().makeMove(move).getToBoard();
+            }
+            return moves;
+        }
+
+        // the board the logged moves lead to
+        Board getCurrentBoard() {
+            Board board = this.startBoard;
+            for (int movesAgo = size() - 1; movesAgo >= 0; movesAgo--) {
+                board = board.currentPlayer().makeMove(PackedMove.toMove(board, this.moveHistory.getMove(movesAgo))).getToBoard();
+            }
+            return board;
         }
 
         void addMove(final Move move) {
-            this.moves.add(move);
+            this.moveHistory.push(move);
         }
 
         public int size() {
-            return this.moves.size();
+            return this.moveHistory.size();
         }
 
         void clear() {
-            this.moves.clear();
+            this.moveHistory.clear();
         }
 
-        Move removeMove(final int index) {
-            return this.moves.remove(index);
+        void removeLastMove() {
+            this.moveHistory.pop();
         }
 
-        boolean removeMove(final Move move) {
-            return this.moves.remove(move);
+        // the game's latest moves with the keys of the boards they were played on, for repetition checks
+        MoveHistory toMoveHistory() {
+            final MoveHistory recentMoves = new MoveHistory();
+            for (int movesAgo = Math.min(size(), MoveHistory.DEFAULT_CAPACITY) - 1; movesAgo >= 0; movesAgo--) {
+                recentMoves.push(this.moveHistory.getMove(movesAgo), this.moveHistory.getZobristKey(movesAgo));
+            }
+            return recentMoves;
         }
 
     }
@@ -606,7 +649,7 @@ public final class Table extends Observable {
                 public void mouseClicked(final MouseEvent event) {
 
                     if(Table.get().getGameSetup().isAIPlayer(Table.get().getGameBoard().currentPlayer()) ||
-                       BoardUtils.isEndGame(Table.get().getGameBoard())) {
+                       Table.get().getGameStatus().isGameOver()) {
                         return;
                     }
 
@@ -0,0 +1,112 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.perft.PerftPosition;
+import com.chess.engine.classic.pieces.Piece;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LegalMoveGeneratorTest {
+
+    @Test
+    public void testPinnedKnightCannotMove() {
+        final Board board = FenUtilities.createGameFromFEN("4k3/4r3/8/8/8/8/4N3/4K3 w - - 0 1");
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            assertTrue(move.toString(), move.getMovedPiece().getPieceType().isKing());
+        }
+    }
+
+    @Test
+    public void testPinnedRookMovesAlongPin() {
+        final Board board = FenUtilities.createGameFromFEN("4k3/4r3/8/8/8/8/4R3/4K3 w - - 0 1");
+        final Set<Integer> rookDestinations = new HashSet<>();
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            if (move.getCurrentCoordinate() == coordinate("e2")) {
+                rookDestinations.add(move.getDestinationCoordinate());
+            }
+        }
+        final Set<Integer> expected = new HashSet<>();
+        for (final String tile : new String[] {"e3", "e4", "e5", "e6", "e7"}) {
+            expected.add(coordinate(tile));
+        }
+        assertEquals(expected, rookDestinations);
+    }
+
+    @Test
+    public void testDoubleCheckOnlyKingMoves() {
+        // the bishop on b4 and the rook on h1 both check the king
+        final Board board = FenUtilities.createGameFromFEN("4k3/8/8/8/1b6/8/8/R3K2r w - - 0 1");
+        assertTrue(board.currentPlayer().isInCheck());
+        assertFalse(board.currentPlayer().getLegalMoves().isEmpty());
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            assertTrue(move.toString(), move.getMovedPiece().getPieceType().isKing());
+        }
+    }
+
+    @Test
+    public void testCheckIsBlockedOrCheckerTaken() {
+        // the rook on e8 checks along the file: take it, block it or step aside
+        final Board board = FenUtilities.createGameFromFEN("k3r3/8/8/8/8/8/3N4/R3K3 w - - 0 1");
+        final Set<String> nonKingMoves = new HashSet<>();
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            if (!move.getMovedPiece().getPieceType().isKing()) {
+                nonKingMoves.add(BoardUtils.INSTANCE.getPositionAtCoordinate(move.getDestinationCoordinate()));
+            }
+        }
+        final Set<String> expected = new HashSet<>();
+        expected.add("e4");
+        assertEquals(expected, nonKingMoves);
+    }
+
+    @Test
+    public void testEnPassantExposingKingIsIllegal() {
+        // taking c5 en passant would empty the fifth row between the king on a5 and the rook on h5
+        Board board = FenUtilities.createGameFromFEN("8/2p5/8/KP5r/8/8/8/4k3 b - - 0 1");
+        board = Move.MoveFactory.createMove(board, coordinate("c7"), coordinate("c5")).execute();
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            assertFalse(move.toString(), move instanceof Move.PawnEnPassantAttack);
+        }
+        assertTrue(board.currentPlayer().getLegalMoves().contains(
+                Move.MoveFactory.createMove(board, coordinate("b5"), coordinate("b6"))));
+    }
+
+    @Test
+    public void testAgreesWithPlayingEveryPseudoLegalMove() {
+        for (final PerftPosition position : PerftPosition.values()) {
+            final Board board = position.createBoard();
+            assertAgreesWithBruteForce(board);
+            for (final Move move : board.currentPlayer().getLegalMoves()) {
+                assertAgreesWithBruteForce(move.execute());
+            }
+        }
+    }
+
+    // the legal moves, castling aside, are the pieces' moves that do not leave the mover's king attacked
+    private static void assertAgreesWithBruteForce(final Board board) {
+        final Set<Move> expected = new HashSet<>();
+        for (final Piece piece : board.currentPlayer().getActivePieces()) {
+            for (final Move move : piece.calculateLegalMoves(board)) {
+                if (!move.execute().currentPlayer().getOpponent().isInCheck()) {
+                    expected.add(move);
+                }
+            }
+        }
+        final Set<Move> legalMoves = new HashSet<>();
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            if (!move.isCastlingMove()) {
+                legalMoves.add(move);
+            }
+        }
+        assertEquals(FenUtilities.createFENFromGame(board), expected, legalMoves);
+    }
+
+    private static int coordinate(final String position) {
+        return BoardUtils.INSTANCE.getCoordinateAtPosition(position);
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.chess.engine.classic.board;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MoveHistoryTest {
+
+    private static final long KEY = 0x1234L;
+
+    @Test
+    public void testCountsEarlierBoardWithSameSideToMove() {
+        final MoveHistory history = new MoveHistory();
+        history.push(1, KEY);
+        history.push(2, 2L);
+        history.push(3, 3L);
+        history.push(4, 4L);
+        assertEquals(1, history.countRepetitions(KEY, 100));
+        // a capture or pawn move three plies ago hides the earlier board
+        assertEquals(0, history.countRepetitions(KEY, 3));
+    }
+
+    @Test
+    public void testNullMoveEndsRepetitionScan() {
+        final MoveHistory history = new MoveHistory();
+        history.push(1, KEY);
+        history.push(2, 2L);
+        history.push(PackedMove.NULL_MOVE, 3L);
+        history.push(4, 4L);
+        assertEquals(0, history.countRepetitions(KEY, 100));
+    }
+
+}
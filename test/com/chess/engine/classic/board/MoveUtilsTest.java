@@ -0,0 +1,74 @@
+package com.chess.engine.classic.board;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class MoveUtilsTest {
+
+    @Test
+    public void testUndefendedCaptureWinsVictim() {
+        assertSee("4k3/8/8/4p3/8/8/4Q3/4K3 w - - 0 1", "e2", "e5", 100);
+        assertSee("4k3/8/8/8/8/8/3q4/3RK3 w - - 0 1", "e1", "d2", 900);
+    }
+
+    @Test
+    public void testDefendedCaptureLosesAttacker() {
+        assertSee("4k3/4r3/8/4p3/8/8/4Q3/4K3 w - - 0 1", "e2", "e5", -800);
+        assertSee("4k3/8/3p4/4n3/3P4/8/8/4K3 w - - 0 1", "d4", "e5", 220);
+    }
+
+    @Test
+    public void testSlidersBehindTheCaptureJoinIn() {
+        // the rook behind the rook recaptures last
+        assertSee("4k3/4r3/8/4p3/8/8/4R3/4R1K1 w - - 0 1", "e2", "e5", 100);
+        // two black rooks outnumber rook and queen
+        assertSee("4k3/4r3/4r3/4p3/8/8/4R3/4Q1K1 w - - 0 1", "e2", "e5", -400);
+        assertSee("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "e1", "e5", 100);
+        assertSee("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1", "d3", "e5", -220);
+    }
+
+    @Test
+    public void testPromotionGainsPromotedPiece() {
+        assertSee("4k3/P7/8/8/8/8/8/4K3 w - - 0 1", "a7", "a8", 800);
+        // the rook takes the new queen
+        assertSee("1r2k3/P7/8/8/8/8/8/4K3 w - - 0 1", "a7", "a8", -100);
+        assertSee("1r2k3/P7/8/8/8/8/8/4K3 w - - 0 1", "a7", "b8", 1300);
+    }
+
+    @Test
+    public void testEnPassantTakesPawnBesideDestination() {
+        final Board board = play(FenUtilities.createGameFromFEN("4k3/8/8/8/3p4/8/4P3/K3R3 w - - 0 1"), "e2", "e4");
+        // the rook on e1 recaptures on e3
+        assertSee(board, "d4", "e3", 0);
+    }
+
+    private static void assertSee(final String fen,
+                                  final String from,
+                                  final String to,
+                                  final int expected) {
+        assertSee(FenUtilities.createGameFromFEN(fen), from, to, expected);
+    }
+
+    private static void assertSee(final Board board,
+                                  final String from,
+                                  final String to,
+                                  final int expected) {
+        final Move move = Move.MoveFactory.createMove(board, coordinate(from), coordinate(to));
+        assertNotEquals(Move.MoveFactory.getNullMove(), move);
+        assertEquals(from + to, expected, MoveUtils.see(move));
+        assertEquals(from + to, expected, MoveUtils.see(board, PackedMove.fromMove(move)));
+    }
+
+    private static Board play(final Board board,
+                              final String from,
+                              final String to) {
+        return Move.MoveFactory.createMove(board, coordinate(from), coordinate(to)).execute();
+    }
+
+    private static int coordinate(final String position) {
+        return BoardUtils.INSTANCE.getCoordinateAtPosition(position);
+    }
+
+}
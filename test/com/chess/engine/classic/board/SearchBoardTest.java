@@ -0,0 +1,115 @@
+package com.chess.engine.classic.board;
+
+import com.chess.engine.classic.perft.PerftPosition;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SearchBoardTest {
+
+    private static final int PERFT_DEPTH = 3;
+    private static final int GAME_PLIES = 120;
+
+    @Test
+    public void testPerftMatchesPublishedCounts() {
+        for (final PerftPosition position : PerftPosition.values()) {
+            final SearchBoard board = new SearchBoard(position.createBoard());
+            assertEquals(position.toString(), position.getExpectedNodes(PERFT_DEPTH), perft(board, PERFT_DEPTH));
+        }
+    }
+
+    @Test
+    public void testUnmakeRestoresPosition() {
+        for (final PerftPosition position : PerftPosition.values()) {
+            final SearchBoard board = new SearchBoard(position.createBoard());
+            final String before = describe(board);
+            final MoveList moves = new MoveList();
+            board.generateMoves(moves);
+            for (int i = 0; i < moves.size(); i++) {
+                if (board.makeMove(moves.get(i))) {
+                    final String afterMove = describe(board);
+                    board.makeNullMove();
+                    board.unmakeMove();
+                    assertEquals(afterMove, describe(board));
+                    board.unmakeMove();
+                }
+                assertEquals(PackedMove.toString(moves.get(i)), before, describe(board));
+            }
+        }
+    }
+
+    @Test
+    public void testGameMatchesBoard() {
+        final Random random = new Random(7);
+        Board board = PerftPosition.KIWIPETE.createBoard();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final String start = describe(searchBoard);
+        int plies = 0;
+        while (plies < GAME_PLIES) {
+            assertEquals(board.getZobristKey(), searchBoard.getZobristKey());
+            assertEquals(board.getHalfmoveClock(), searchBoard.getHalfmoveClock());
+            assertEquals(board.currentPlayer().isInCheck(), searchBoard.isInCheck());
+            assertEquals(FenUtilities.createFENFromGame(board), FenUtilities.createFENFromGame(searchBoard.toBoard()));
+            final Set<Integer> legalMoves = new HashSet<>();
+            for (final Move move : board.currentPlayer().getLegalMoves()) {
+                legalMoves.add(PackedMove.fromMove(move));
+            }
+            assertEquals(legalMoves, legalMoves(searchBoard));
+            if (legalMoves.isEmpty()) {
+                break;
+            }
+            final Integer[] moves = legalMoves.toArray(new Integer[legalMoves.size()]);
+            final int move = moves[random.nextInt(moves.length)];
+            assertTrue(searchBoard.makeMove(move));
+            board = PackedMove.toMove(board, move).execute();
+            plies++;
+        }
+        for (int i = 0; i < plies; i++) {
+            searchBoard.unmakeMove();
+        }
+        assertEquals(start, describe(searchBoard));
+    }
+
+    private static long perft(final SearchBoard board,
+                              final int depth) {
+        if (depth == 0) {
+            return 1L;
+        }
+        final MoveList moves = new MoveList();
+        board.generateMoves(moves);
+        long nodes = 0L;
+        for (int i = 0; i < moves.size(); i++) {
+            if (board.makeMove(moves.get(i))) {
+                nodes += perft(board, depth - 1);
+                board.unmakeMove();
+            }
+        }
+        return nodes;
+    }
+
+    private static Set<Integer> legalMoves(final SearchBoard board) {
+        final MoveList moves = new MoveList();
+        board.generateMoves(moves);
+        final Set<Integer> legalMoves = new HashSet<>();
+        for (int i = 0; i < moves.size(); i++) {
+            if (board.makeMove(moves.get(i))) {
+                legalMoves.add(moves.get(i));
+                board.unmakeMove();
+            }
+        }
+        return legalMoves;
+    }
+
+    // everything a move changes and unmaking it must restore
+    private static String describe(final SearchBoard board) {
+        return FenUtilities.createFENFromGame(board.toBoard()) + " key " + board.getZobristKey() +
+               " castling " + board.getCastlingRights() + " en passant " + board.getEnPassantSquare() +
+               " halfmove " + board.getHalfmoveClock();
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.chess.engine.classic.board;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ZobristTest {
+
+    // castling both ways, en passant after a double push, promotions with and without a capture;
+    // none has an en passant tile, whose key a FEN would not set up
+    private static final String[] POSITIONS = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8"
+    };
+
+    @Test
+    public void testIncrementalKeyMatchesKeyFromScratch() {
+        final boolean[] flagsSeen = new boolean[16];
+        for (final String fen : POSITIONS) {
+            final Board board = FenUtilities.createGameFromFEN(fen);
+            assertEquals(fen, keyFromScratch(board), board.getZobristKey());
+            for (final Move move : board.currentPlayer().getLegalMoves()) {
+                final Board toBoard = assertKeyAfter(move, flagsSeen);
+                for (final Move reply : toBoard.currentPlayer().getLegalMoves()) {
+                    assertKeyAfter(reply, flagsSeen);
+                }
+            }
+        }
+        for (final int flags : new int[] {PackedMove.QUIET, PackedMove.DOUBLE_PAWN_PUSH, PackedMove.KING_CASTLE,
+                PackedMove.QUEEN_CASTLE, PackedMove.CAPTURE, PackedMove.EN_PASSANT,
+                PackedMove.QUEEN_PROMOTION, PackedMove.QUEEN_PROMOTION_CAPTURE}) {
+            assertTrue("no move with flags " + flags, flagsSeen[flags]);
+        }
+    }
+
+    @Test
+    public void testPassTurnKeyMatchesKeyFromScratch() {
+        final Board board = FenUtilities.createGameFromFEN(POSITIONS[0]);
+        final Board passed = board.passTurn();
+        assertEquals(keyFromScratch(passed), passed.getZobristKey());
+    }
+
+    @Test
+    public void testTranspositionsShareKey() {
+        final Board board = Board.createStandardBoard();
+        final Board viaKnightFirst = play(play(play(play(board, "g1", "f3"), "g8", "f6"), "b1", "c3"), "b8", "c6");
+        final Board viaKnightSecond = play(play(play(play(board, "b1", "c3"), "b8", "c6"), "g1", "f3"), "g8", "f6");
+        assertEquals(viaKnightFirst.getZobristKey(), viaKnightSecond.getZobristKey());
+    }
+
+    private static Board assertKeyAfter(final Move move,
+                                        final boolean[] flagsSeen) {
+        final Board toBoard = move.execute();
+        flagsSeen[PackedMove.flags(PackedMove.fromMove(move))] = true;
+        assertEquals(move.toString(), keyFromScratch(toBoard), toBoard.getZobristKey());
+        return toBoard;
+    }
+
+    // the same position built again without the key its move worked out, so the board hashes it in full
+    private static long keyFromScratch(final Board board) {
+        return new Board.Builder(board)
+                .setMoveMaker(board.currentPlayer().getAlliance())
+                .setEnPassantPawn(board.getEnPassantPawn())
+                .setHalfmoveClock(board.getHalfmoveClock())
+                .build()
+                .getZobristKey();
+    }
+
+    private static Board play(final Board board,
+                              final String from,
+                              final String to) {
+        final Move move = board.currentPlayer().getMove(BoardUtils.INSTANCE.getCoordinateAtPosition(from),
+                BoardUtils.INSTANCE.getCoordinateAtPosition(to), null);
+        return move.execute();
+    }
+
+}
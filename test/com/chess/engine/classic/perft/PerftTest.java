@@ -0,0 +1,41 @@
+package com.chess.engine.classic.perft;
+
+import com.chess.engine.classic.board.Board;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PerftTest {
+
+    private static final int DEPTH = 3;
+
+    @Test
+    public void testSuiteMatchesPublishedCounts() {
+        final Perft perft = new Perft();
+        for (final PerftPosition position : PerftPosition.values()) {
+            final Board board = position.createBoard();
+            for (int depth = 1; depth <= DEPTH; depth++) {
+                assertEquals(position + " depth " + depth, position.getExpectedNodes(depth), perft.perft(board, depth));
+            }
+        }
+    }
+
+    @Test
+    public void testBulkCountingMatchesFullCount() {
+        final Perft perft = new Perft(false);
+        for (final PerftPosition position : PerftPosition.values()) {
+            assertEquals(position.toString(), position.getExpectedNodes(2), perft.perft(position.createBoard(), 2));
+        }
+    }
+
+    @Test
+    public void testDivideSumsToPerft() {
+        final Board board = PerftPosition.KIWIPETE.createBoard();
+        long nodes = 0L;
+        for (final long moveNodes : new Perft().divide(board, DEPTH).values()) {
+            nodes += moveNodes;
+        }
+        assertEquals(PerftPosition.KIWIPETE.getExpectedNodes(DEPTH), nodes);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.FenUtilities;
+import com.chess.engine.classic.board.Move;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IterativeDeepeningTest {
+
+    private static final int DEPTH = 4;
+
+    // opening, middlegame, a back rank mate and a rook endgame
+    private static final String[] POSITIONS = {
+            "r1bqkbnr/pppp1ppp/2n5/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"
+    };
+
+    @Test
+    public void testSearchesWithNullMoveLateMoveReductionsAndAspirationWindows() {
+        final SearchConfig config = IterativeDeepening.config(false);
+        assertTrue(config.useNullMove());
+        assertTrue(config.useLateMoveReductions());
+        assertTrue(config.useAspirationWindows());
+    }
+
+    @Test
+    public void testPruningKeepsMoveAndScore() {
+        long prunedBoards = 0;
+        long unprunedBoards = 0;
+        for (final String fen : POSITIONS) {
+            final Board board = FenUtilities.createGameFromFEN(fen);
+            final NegamaxSearch pruned = new IterativeDeepening(DEPTH);
+            final NegamaxSearch unpruned = new NegamaxSearch(DEPTH, withoutPruning());
+            final Move prunedMove = pruned.execute(board);
+            final Move unprunedMove = unpruned.execute(board);
+            assertEquals(fen, unprunedMove, prunedMove);
+            assertEquals(fen, new NegamaxSearch(DEPTH, withoutPruning()).search(board, DEPTH),
+                    new IterativeDeepening(DEPTH).search(board, DEPTH));
+            prunedBoards += pruned.getNumBoardsEvaluated();
+            unprunedBoards += unpruned.getNumBoardsEvaluated();
+        }
+        assertTrue(prunedBoards < unprunedBoards);
+    }
+
+    // the iterative deepening configuration with null move, late move reductions and aspiration windows off
+    private static SearchConfig withoutPruning() {
+        return new SearchConfig.Builder()
+                .setTranspositionTable(true)
+                .setPrincipalVariationSearch(true)
+                .setIterativeDeepening(true)
+                .setKillerMoves(true)
+                .setHistoryHeuristic(true)
+                .setMoveSorter(MoveSorter.SMART)
+                .build();
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.chess.engine.classic.player.ai;
+
+import com.chess.engine.classic.board.Board;
+import com.chess.engine.classic.board.BoardUtils;
+import com.chess.engine.classic.board.FenUtilities;
+import com.chess.engine.classic.board.Move;
+import com.chess.engine.classic.board.MoveHistory;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NegamaxSearchTest {
+
+    @Test
+    public void testMakeUnmakeProbesTranspositionTable() {
+        final NegamaxSearch search = new StockAlphaBeta(4, true);
+        search.execute(Board.createStandardBoard());
+        assertTrue(search.getNumTranspositionTableHits() > 0);
+    }
+
+    @Test
+    public void testMakeUnmakeFindsSameMoveAsBoardSearch() {
+        final Board board = FenUtilities.createGameFromFEN(
+                "r1bqkbnr/pppp1ppp/2n5/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3");
+        final Move boardMove = new AlphaBetaWithMoveOrdering(4, 0, false).execute(board);
+        final Move makeUnmakeMove = new AlphaBetaWithMoveOrdering(4, 0, true).execute(board);
+        assertEquals(boardMove, makeUnmakeMove);
+    }
+
+    @Test
+    public void testMakeUnmakeScoresRepetitionAsDraw() {
+        final MoveHistory gameHistory = new MoveHistory();
+        // black has no queen, so a draw is the best black can hope for
+        Board board = FenUtilities.createGameFromFEN("rnb1kbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+        board = play(board, gameHistory, "g1", "f3");
+        board = play(board, gameHistory, "g8", "f6");
+        board = play(board, gameHistory, "f3", "g1");
+        // going back to g8 repeats the position before the knights moved
+        final Move move = new StockAlphaBeta(2, true).execute(board, gameHistory);
+        assertEquals(coordinate("f6"), move.getCurrentCoordinate());
+        assertEquals(coordinate("g8"), move.getDestinationCoordinate());
+    }
+
+    @Test
+    public void testMakeUnmakeScoresFiftyMoveRuleAsDraw() {
+        // with the clock at zero black pushes a pawn
+        final Move move = new StockAlphaBeta(2, true).execute(FenUtilities.createGameFromFEN(
+                "rnb1kbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR b KQkq - 0 1"));
+        assertTrue(move.getMovedPiece().getPieceType().isPawn());
+        // one ply before the fifty move rule any move but a capture or a pawn move draws
+        final Move drawingMove = new StockAlphaBeta(2, true).execute(FenUtilities.createGameFromFEN(
+                "rnb1kbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR b KQkq - 99 1"));
+        assertFalse(drawingMove.getMovedPiece().getPieceType().isPawn());
+        assertFalse(drawingMove.isAttack());
+    }
+
+    private static Board play(final Board board,
+                              final MoveHistory gameHistory,
+                              final String from,
+                              final String to) {
+        final Move move = board.currentPlayer().getMove(coordinate(from), coordinate(to), null);
+        gameHistory.push(move);
+        return board.currentPlayer().makeMove(move).getToBoard();
+    }
+
+    private static int coordinate(final String position) {
+        return BoardUtils.INSTANCE.getCoordinateAtPosition(position);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.chess.engine.classic.player.ai;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TranspositionTableTest {
+
+    private static final long KEY = 0x1234L;
+    // same slot as KEY in any table of up to 2^40 entries
+    private static final long COLLIDING_KEY = KEY + (1L << 40);
+
+    @Test
+    public void testProbeReturnsStoredEntry() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY, 4, 35, -100, 100, 0);
+        final long entry = table.probe(KEY);
+        assertNotEquals(TranspositionTable.NO_ENTRY, entry);
+        assertEquals(4, TranspositionTable.depth(entry));
+        assertEquals(35, TranspositionTable.score(entry));
+        assertEquals(TranspositionTable.EXACT, TranspositionTable.bound(entry));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(COLLIDING_KEY));
+    }
+
+    @Test
+    public void testDeeperEntryOfCurrentSearchIsKept() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.newSearch();
+        table.store(KEY, 8, 10, -100, 100, 0);
+        table.store(COLLIDING_KEY, 2, 20, -100, 100, 0);
+        assertEquals(8, TranspositionTable.depth(table.probe(KEY)));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(COLLIDING_KEY));
+    }
+
+    @Test
+    public void testStaleAgeEntryIsReplaced() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.newSearch();
+        table.store(KEY, 8, 10, -100, 100, 0);
+        final int staleAge = TranspositionTable.age(table.probe(KEY));
+        table.newSearch();
+        table.store(COLLIDING_KEY, 2, 20, -100, 100, 0);
+        final long entry = table.probe(COLLIDING_KEY);
+        assertEquals(2, TranspositionTable.depth(entry));
+        assertEquals(20, TranspositionTable.score(entry));
+        assertNotEquals(staleAge, TranspositionTable.age(entry));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(KEY));
+    }
+
+}